@@ -51,8 +51,11 @@ public class SecurityConfig {
         )
         .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/", "/login", "/register/**", "/css/**", "/js/**", "/images/**", "/fonts/**", "/error").permitAll()
+                // Token-authenticated calendar feeds polled by external calendar apps
+                .requestMatchers("/calendar/feed/*.ics").permitAll()
                 .requestMatchers("/client/**").hasRole("CLIENT")
                 .requestMatchers("/professional/**").hasRole("PROFESSIONAL")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
         )
         .formLogin(form -> form
@@ -0,0 +1,61 @@
+package com.marketplace.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket for live booking updates, on an in-memory broker. The handshake
+ * at /ws goes through the normal security chain, so the STOMP session carries the
+ * logged-in user and per-user destinations resolve to that user's sessions only.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    public static final String BOOKING_UPDATES_QUEUE = "/queue/bookings";
+    private static final String USER_PREFIX = "/user";
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue");
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix(USER_PREFIX);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                // Push only: clients may listen on their own user queues and nothing else,
+                // so nobody can subscribe to another session's resolved queue directly
+                if (StompCommand.SEND.equals(accessor.getCommand())) {
+                    throw new MessageDeliveryException("Sending is not supported");
+                }
+                if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    String destination = accessor.getDestination();
+                    if (destination == null || !destination.startsWith(USER_PREFIX + "/")) {
+                        throw new MessageDeliveryException("Subscriptions are limited to user destinations");
+                    }
+                }
+                return message;
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.marketplace.controller;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,13 +17,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.marketplace.dto.AvailabilityDto;
+import com.marketplace.dto.CalendarImportResult;
 import com.marketplace.model.Availability;
 import com.marketplace.model.User;
 import com.marketplace.security.service.UserDetailsImpl;
 import com.marketplace.service.AvailabilityService;
+import com.marketplace.service.CalendarImportService;
 import com.marketplace.service.UserService;
 
 import jakarta.validation.Valid;
@@ -33,10 +37,13 @@ public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
     private final UserService userService;
+    private final CalendarImportService calendarImportService;
 
-    public AvailabilityController(AvailabilityService availabilityService, UserService userService) {
+    public AvailabilityController(AvailabilityService availabilityService, UserService userService,
+                                  CalendarImportService calendarImportService) {
         this.availabilityService = availabilityService;
         this.userService = userService;
+        this.calendarImportService = calendarImportService;
     }
 
     // Helper method to get current user
@@ -240,4 +247,27 @@ public class AvailabilityController {
 
         return "redirect:/professional/availability";
     }
-}
\ No newline at end of file
+
+    @PostMapping("/import-calendar")
+    public String importCalendar(@RequestParam("calendarFile") MultipartFile calendarFile,
+                                 RedirectAttributes redirectAttributes) {
+        
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+
+        try {
+            CalendarImportResult result = calendarImportService.importCalendar(currentUser, calendarFile);
+            redirectAttributes.addFlashAttribute("message", "Calendar imported: " + result.getEventsRead() + 
+                " events, " + result.getBusyBlocksImported() + " busy periods, " + 
+                result.getSlotsBlocked() + " conflicting slots blocked.");
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("error", "Could not read the calendar file");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+
+        return "redirect:/professional/availability";
+    }
+}
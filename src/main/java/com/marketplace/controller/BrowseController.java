@@ -1,6 +1,7 @@
 package com.marketplace.controller;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,17 +21,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.marketplace.dto.AvailabilityMatchDto;
 import com.marketplace.dto.BookingDto;
+import com.marketplace.dto.ProfessionalDetailDto;
+import com.marketplace.dto.SlotDto;
 import com.marketplace.exception.ProfessionalNotFoundException;
 import com.marketplace.exception.UnauthorizedAccessException;
-import com.marketplace.model.Availability;
 import com.marketplace.model.ProfessionalProfile;
-import com.marketplace.model.Review;
 import com.marketplace.model.User;
 import com.marketplace.security.service.UserDetailsImpl;
 import com.marketplace.service.AvailabilityService;
 import com.marketplace.service.ProfessionalService;
-import com.marketplace.service.ReviewService;
+import com.marketplace.service.ProfessionalViewService;
 import com.marketplace.service.UserService;
 
 @Controller
@@ -41,13 +44,13 @@ public class BrowseController {
     private final ProfessionalService professionalService;
     private final UserService userService;
     private final AvailabilityService availabilityService;
-    private final ReviewService reviewService;
+    private final ProfessionalViewService professionalViewService;
     
-    public BrowseController(ProfessionalService professionalService, UserService userService, AvailabilityService availabilityService ,ReviewService reviewService) {
+    public BrowseController(ProfessionalService professionalService, UserService userService, AvailabilityService availabilityService, ProfessionalViewService professionalViewService) {
         this.professionalService = professionalService;
         this.userService = userService;
         this.availabilityService = availabilityService;
-        this.reviewService = reviewService;
+        this.professionalViewService = professionalViewService;
     }
 
     // Helper method to get current user
@@ -102,6 +105,54 @@ public class BrowseController {
         }
     }
 
+    @GetMapping("/professionals/available")
+    public String searchAvailableProfessionals(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "city", required = false) String city,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime to,
+            @RequestParam(value = "duration", required = false) Integer duration,
+            Model model,
+            RedirectAttributes redirectAttributes) {
+        
+        try {
+            requireAuthentication();
+            
+            model.addAttribute("categories", professionalService.getAllCategories());
+            model.addAttribute("currentCategory", category);
+            model.addAttribute("currentCity", city);
+            model.addAttribute("currentDate", date);
+            model.addAttribute("currentFrom", from);
+            model.addAttribute("currentTo", to);
+            model.addAttribute("currentDuration", duration);
+            
+            if (date == null || from == null || to == null) {
+                return "client/available-professionals";
+            }
+            if (date.isBefore(LocalDate.now())) {
+                model.addAttribute("error", "Please choose today or a future date");
+                return "client/available-professionals";
+            }
+            
+            List<AvailabilityMatchDto> matches = professionalService.searchAvailableProfessionals(
+                category, city, date, from, to, duration);
+            model.addAttribute("matches", matches);
+            
+            return "client/available-professionals";
+            
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/login";
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+            return "client/available-professionals";
+        } catch (Exception e) {
+            logger.error("Error searching available professionals", e);
+            redirectAttributes.addFlashAttribute("error", "An error occurred while searching for available professionals");
+            return "redirect:/client/professionals";
+        }
+    }
+
     @GetMapping("/professional/{id}")
     public String viewProfessionalProfile(
             @PathVariable Long id, 
@@ -119,8 +170,8 @@ public class BrowseController {
                 return "redirect:/client/professionals";
             }
 
-            ProfessionalProfile profile = professionalService.getProfileById(id);
-            List<Review> reviews = reviewService.getProfessionalReviews(profile);
+            // One primary-key read of the professional_view row covers the whole default page
+            ProfessionalDetailDto profile = professionalViewService.getDetail(id);
             // Handle date selection with validation
             LocalDate selectedDate;
             try {
@@ -141,13 +192,18 @@ public class BrowseController {
                 model.addAttribute("warning", "Invalid date format. Showing availability from current date.");
             }
             
-            // Get available slots for the next 30 days from selected date
-            LocalDate endDate = selectedDate.plusDays(30);
-            List<Availability> availableSlots = 
-                availabilityService.getAvailableSlots(profile.getUser(), selectedDate, endDate);
+            // The view holds the next open slots from today; other weeks are read live
+            List<SlotDto> availableSlots;
+            if (selectedDate.equals(LocalDate.now())) {
+                availableSlots = profile.getOpenSlots();
+            } else {
+                LocalDate endDate = selectedDate.plusDays(30);
+                availableSlots = availabilityService.getBookableSlots(
+                    professionalService.getProfileById(id), selectedDate, endDate);
+            }
             
             model.addAttribute("profile", profile);
-            model.addAttribute("reviews", reviews);
+            model.addAttribute("reviews", profile.getReviews());
             model.addAttribute("selectedDate", selectedDate);
             model.addAttribute("availableSlots", availableSlots);
             model.addAttribute("weekOffset", weekOffset);
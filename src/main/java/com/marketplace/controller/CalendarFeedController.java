@@ -0,0 +1,98 @@
+package com.marketplace.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.marketplace.dto.CalendarFeedVersion;
+import com.marketplace.model.User;
+import com.marketplace.security.service.UserDetailsImpl;
+import com.marketplace.service.CalendarFeedService;
+import com.marketplace.service.UserService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves booking calendars to external calendar apps. The feed is authenticated by the
+ * secret token in its URL since calendar apps cannot log in.
+ */
+@Controller
+public class CalendarFeedController {
+
+    private final CalendarFeedService calendarFeedService;
+    private final UserService userService;
+
+    public CalendarFeedController(CalendarFeedService calendarFeedService, UserService userService) {
+        this.calendarFeedService = calendarFeedService;
+        this.userService = userService;
+    }
+
+    // Helper method to get current user
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserDetailsImpl) {
+            UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
+            return userService.findById(userDetails.getId()).orElse(null);
+        }
+        return null;
+    }
+
+    // Absolute feed URL to show on the dashboards, or null if no token was issued yet
+    public static String feedUrl(User user) {
+        if (user == null || user.getCalendarToken() == null) {
+            return null;
+        }
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/calendar/feed/{token}.ics")
+                .buildAndExpand(user.getCalendarToken())
+                .toUriString();
+    }
+
+    @GetMapping("/calendar/feed/{token}.ics")
+    public void calendarFeed(@PathVariable String token,
+                             WebRequest webRequest,
+                             HttpServletResponse response) throws IOException {
+        User user = calendarFeedService.findUserByFeedToken(token).orElse(null);
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Calendar apps poll often; answer unchanged feeds with 304 before any booking is read
+        CalendarFeedVersion version = calendarFeedService.getFeedVersion(user);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return;
+        }
+
+        response.setContentType("text/calendar;charset=UTF-8");
+        calendarFeedService.writeFeed(user, response.getWriter());
+    }
+
+    @PostMapping("/calendar/token")
+    public String regenerateFeedToken(RedirectAttributes redirectAttributes) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+
+        try {
+            calendarFeedService.regenerateFeedToken(currentUser);
+            redirectAttributes.addFlashAttribute("message",
+                "New calendar link created. Any previously shared link no longer works.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+
+        return "redirect:/dashboard";
+    }
+}
@@ -47,6 +47,7 @@ public class ClientController {
         try {
             boolean hasProfile = clientProfileService.hasProfile(currentUser);
             model.addAttribute("hasProfile", hasProfile);
+            model.addAttribute("calendarFeedUrl", CalendarFeedController.feedUrl(currentUser));
             
             if (hasProfile) {
                 // Add review count or other profile-related data
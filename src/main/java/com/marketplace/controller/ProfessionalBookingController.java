@@ -1,7 +1,11 @@
 package com.marketplace.controller;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -13,10 +17,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.marketplace.dto.BookingPage;
+import com.marketplace.dto.BookingSearch;
+import com.marketplace.dto.BulkActionResult;
 import com.marketplace.enums.BookingStatus;
 import com.marketplace.model.Booking;
 import com.marketplace.model.User;
 import com.marketplace.security.service.UserDetailsImpl;
+import com.marketplace.service.BookingHistoryService;
 import com.marketplace.service.BookingService;
 import com.marketplace.service.UserService;
 
@@ -24,12 +32,17 @@ import com.marketplace.service.UserService;
 @RequestMapping("/professional/bookings")
 public class ProfessionalBookingController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final BookingService bookingService;
     private final UserService userService;
+    private final BookingHistoryService historyService;
 
-    public ProfessionalBookingController(BookingService bookingService, UserService userService) {
+    public ProfessionalBookingController(BookingService bookingService, UserService userService,
+                                        BookingHistoryService historyService) {
         this.bookingService = bookingService;
         this.userService = userService;
+        this.historyService = historyService;
     }
 
     // Helper method to get current user
@@ -45,6 +58,9 @@ public class ProfessionalBookingController {
     @GetMapping
     public String listProfessionalBookings(
             @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "before", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
             Model model) {
         
         User currentUser = getCurrentUser();
@@ -53,16 +69,17 @@ public class ProfessionalBookingController {
         }
 
         try {
-            List<Booking> bookings;
+            BookingStatus bookingStatus = null;
             if (status != null && !status.isEmpty()) {
-                BookingStatus bookingStatus = BookingStatus.valueOf(status.toUpperCase());
-                bookings = bookingService.getProfessionalBookingsByStatus(currentUser, bookingStatus);
+                bookingStatus = BookingStatus.valueOf(status.toUpperCase());
                 model.addAttribute("currentStatus", status);
-            } else {
-                bookings = bookingService.getProfessionalBookingsWithDetails(currentUser);
             }
             
-            model.addAttribute("bookings", bookings);
+            BookingPage page = bookingService.getProfessionalBookingPage(currentUser, bookingStatus, before, beforeId,
+                    PAGE_SIZE);
+            model.addAttribute("bookings", page.getBookings());
+            model.addAttribute("page", page);
+            model.addAttribute("statusCounts", bookingService.getProfessionalStatusCounts(currentUser));
             // Add this line to make BookingStatus enum available in Thymeleaf
             model.addAttribute("BookingStatus", BookingStatus.class);
             
@@ -75,6 +92,45 @@ public class ProfessionalBookingController {
         }
     }
 
+    @GetMapping("/search")
+    public String searchBookings(
+            @RequestParam(value = "client", required = false) String client,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "q", required = false) String keyword,
+            @RequestParam(value = "before", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
+            Model model) {
+
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+
+        model.addAttribute("BookingStatus", BookingStatus.class);
+        model.addAttribute("searching", true);
+        try {
+            BookingStatus bookingStatus = null;
+            if (status != null && !status.isEmpty()) {
+                bookingStatus = BookingStatus.valueOf(status.toUpperCase());
+                model.addAttribute("currentStatus", status);
+            }
+
+            BookingPage page = bookingService.searchProfessionalBookings(currentUser,
+                    new BookingSearch(client, bookingStatus, from, to, keyword), before, beforeId, PAGE_SIZE);
+            model.addAttribute("bookings", page.getBookings());
+            model.addAttribute("page", page);
+            model.addAttribute("statusCounts", bookingService.getProfessionalStatusCounts(currentUser));
+            return "professional/bookings";
+        } catch (Exception e) {
+            model.addAttribute("bookings", List.of());
+            model.addAttribute("error", e.getMessage());
+            return "professional/bookings";
+        }
+    }
+
     @GetMapping("/{id}")
     public String viewBookingDetails(@PathVariable Long id, Model model) {
         User currentUser = getCurrentUser();
@@ -90,6 +146,7 @@ public class ProfessionalBookingController {
             
             Booking booking = bookingService.getBookingById(id);
             model.addAttribute("booking", booking);
+            model.addAttribute("statusHistory", historyService.getHistory(id));
             // Add BookingStatus for the detail view as well if needed
             model.addAttribute("BookingStatus", BookingStatus.class);
             return "professional/booking-detail";
@@ -155,4 +212,45 @@ public class ProfessionalBookingController {
 
         return "redirect:/professional/bookings";
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk")
+    public String applyBulkAction(@RequestParam(value = "bookingIds", required = false) List<Long> bookingIds,
+                                  @RequestParam("action") String action,
+                                  RedirectAttributes redirectAttributes) {
+        
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+
+        BookingStatus newStatus;
+        String verb;
+        switch (action) {
+            case "accept": newStatus = BookingStatus.CONFIRMED; verb = "accepted"; break;
+            case "reject": newStatus = BookingStatus.REJECTED; verb = "rejected"; break;
+            case "complete": newStatus = BookingStatus.COMPLETED; verb = "marked as completed"; break;
+            default:
+                redirectAttributes.addFlashAttribute("error", "Unknown bulk action");
+                return "redirect:/professional/bookings";
+        }
+
+        try {
+            BulkActionResult result = bookingService.applyBulkStatus(bookingIds, currentUser, newStatus);
+            if (!result.getApplied().isEmpty()) {
+                redirectAttributes.addFlashAttribute("message", 
+                    result.getApplied().size() + " booking(s) " + verb + ".");
+            }
+            if (!result.getSkipped().isEmpty()) {
+                StringBuilder skipped = new StringBuilder("Skipped: ");
+                for (Map.Entry<Long, String> entry : result.getSkipped().entrySet()) {
+                    skipped.append("#").append(entry.getKey()).append(" (").append(entry.getValue()).append("); ");
+                }
+                redirectAttributes.addFlashAttribute("error", skipped.substring(0, skipped.length() - 2));
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+
+        return "redirect:/professional/bookings";
+    }
+}
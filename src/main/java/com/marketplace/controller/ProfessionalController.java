@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.marketplace.dto.ProfessionalDashboard;
 import com.marketplace.dto.ProfessionalProfileDto;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.ServiceCategory;
@@ -56,8 +57,11 @@ public class ProfessionalController {
             return "redirect:/login";
         }
         
-        boolean hasProfile = professionalService.hasProfile(currentUser);
-        model.addAttribute("hasProfile", hasProfile);
+        // Doubles as the profile check, so the page costs one query
+        ProfessionalDashboard dashboard = professionalService.getDashboard(currentUser);
+        model.addAttribute("hasProfile", dashboard != null);
+        model.addAttribute("dashboard", dashboard);
+        model.addAttribute("calendarFeedUrl", CalendarFeedController.feedUrl(currentUser));
         return "professional/dashboard";
     }
     
@@ -15,11 +15,14 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.marketplace.dto.ReviewDto;
+import com.marketplace.dto.SubmissionOutcome;
 import com.marketplace.exception.AccessDeniedException;
 import com.marketplace.exception.BookingNotFoundException;
+import com.marketplace.exception.DuplicateSubmissionException;
 import com.marketplace.exception.ReviewAlreadyExistsException;
 import com.marketplace.exception.ReviewNotFoundException;
 import com.marketplace.exception.ValidationException;
@@ -28,6 +31,7 @@ import com.marketplace.model.Review;
 import com.marketplace.model.User;
 import com.marketplace.security.service.UserDetailsImpl;
 import com.marketplace.service.BookingService;
+import com.marketplace.service.IdempotencyService;
 import com.marketplace.service.ReviewService;
 import com.marketplace.service.UserService;
 
@@ -43,11 +47,14 @@ public class ReviewController {
     private final ReviewService reviewService;
     private final BookingService bookingService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
-    public ReviewController(ReviewService reviewService, BookingService bookingService, UserService userService) {
+    public ReviewController(ReviewService reviewService, BookingService bookingService, UserService userService,
+                            IdempotencyService idempotencyService) {
         this.reviewService = reviewService;
         this.bookingService = bookingService;
         this.userService = userService;
+        this.idempotencyService = idempotencyService;
     }
 
     // Helper method to get current user
@@ -60,6 +67,15 @@ public class ReviewController {
         return null;
     }
 
+    // Id of the logged-in user straight from the session, without loading the user
+    private Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) auth.getPrincipal()).getId();
+        }
+        return null;
+    }
+
     @GetMapping("/create/{bookingId}")
     public String showCreateReviewForm(@PathVariable Long bookingId, Model model) {
         User currentUser = getCurrentUser();
@@ -100,9 +116,8 @@ public class ReviewController {
     @PostMapping("/create")
     public String createReview(@Valid @ModelAttribute("reviewDto") ReviewDto reviewDto,
                               BindingResult result,
+                              @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
                               RedirectAttributes redirectAttributes) {
-        User currentUser = getCurrentUser();
-
         if (result.hasErrors()) {
             redirectAttributes.addFlashAttribute("error", "Please correct the errors and try again");
             redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.reviewDto", result);
@@ -110,6 +125,19 @@ public class ReviewController {
             return "redirect:/client/reviews/create/" + reviewDto.getBookingId();
         }
 
+        try {
+            return idempotencyService.execute(getCurrentUserId(), idempotencyKey,
+                    () -> SubmissionOutcome.of(submitReview(reviewDto, redirectAttributes), redirectAttributes))
+                    .applyTo(redirectAttributes);
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/bookings";
+        }
+    }
+
+    private String submitReview(ReviewDto reviewDto, RedirectAttributes redirectAttributes) {
+        User currentUser = getCurrentUser();
+
         try {
             Review review = reviewService.createReview(currentUser, reviewDto);
             redirectAttributes.addFlashAttribute("message", "Review submitted successfully! Thank you for your feedback.");
@@ -1,10 +1,14 @@
 package com.marketplace.controller;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,9 +20,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.marketplace.dto.BookingDto;
+import com.marketplace.dto.BookingPage;
+import com.marketplace.dto.BookingSeriesResult;
+import com.marketplace.dto.BulkActionResult;
+import com.marketplace.dto.SlotHold;
+import com.marketplace.dto.SubmissionOutcome;
 import com.marketplace.enums.BookingStatus;
 import com.marketplace.exception.AvailabilityNotFoundException;
 import com.marketplace.exception.BookingException;
+import com.marketplace.exception.DuplicateSubmissionException;
 import com.marketplace.exception.ProfessionalNotFoundException;
 import com.marketplace.exception.SlotNotAvailableException;
 import com.marketplace.exception.UnauthorizedAccessException;
@@ -27,27 +37,39 @@ import com.marketplace.model.User;
 import com.marketplace.security.service.UserDetailsImpl;
 import com.marketplace.service.AvailabilityService;
 import com.marketplace.service.BookingService;
+import com.marketplace.service.IdempotencyService;
 import com.marketplace.service.ProfessionalService;
+import com.marketplace.service.SlotHoldService;
 import com.marketplace.service.UserService;
+import com.marketplace.service.WaitlistService;
 
 @Controller
 @RequestMapping("/client/bookings")
 public class UserBookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserBookingController.class);
+    private static final int PAGE_SIZE = 20;
 
     private final BookingService bookingService;
     private final ProfessionalService professionalService;
     private final UserService userService;
     private final AvailabilityService availabilityService;
+    private final SlotHoldService slotHoldService;
+    private final IdempotencyService idempotencyService;
+    private final WaitlistService waitlistService;
     
 
     public UserBookingController(BookingService bookingService, ProfessionalService professionalService, 
-                           UserService userService, AvailabilityService availabilityService) {
+                           UserService userService, AvailabilityService availabilityService,
+                           SlotHoldService slotHoldService, IdempotencyService idempotencyService,
+                           WaitlistService waitlistService) {
         this.bookingService = bookingService;
         this.professionalService = professionalService;
         this.userService = userService;
         this.availabilityService = availabilityService;
+        this.slotHoldService = slotHoldService;
+        this.idempotencyService = idempotencyService;
+        this.waitlistService = waitlistService;
     }
 
     // Helper method to get current user
@@ -60,6 +82,15 @@ public class UserBookingController {
         return null;
     }
 
+    // Id of the logged-in user straight from the session, without loading the user
+    private Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) auth.getPrincipal()).getId();
+        }
+        return null;
+    }
+
     // Helper method to check authentication
     private User requireAuthentication() {
         User currentUser = getCurrentUser();
@@ -72,28 +103,32 @@ public class UserBookingController {
     @GetMapping
     public String listClientBookings(
             @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "before", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
             Model model,
             RedirectAttributes redirectAttributes) {
         
         try {
             User currentUser = requireAuthentication();
             
-            List<Booking> bookings;
+            BookingStatus bookingStatus = null;
             if (status != null && !status.trim().isEmpty()) {
                 try {
-                    BookingStatus bookingStatus = BookingStatus.valueOf(status.toUpperCase());
-                    bookings = bookingService.getClientBookingsByStatus(currentUser, bookingStatus);
+                    bookingStatus = BookingStatus.valueOf(status.toUpperCase());
                     model.addAttribute("currentStatus", status);
                 } catch (IllegalArgumentException e) {
                     logger.warn("Invalid booking status requested: {}", status);
-                    bookings = bookingService.getClientBookings(currentUser);
                     model.addAttribute("error", "Invalid status filter. Showing all bookings.");
                 }
-            } else {
-                bookings = bookingService.getClientBookings(currentUser);
             }
             
-            model.addAttribute("bookings", bookings);
+            BookingPage page = bookingService.getClientBookingPage(currentUser, bookingStatus, before, beforeId, PAGE_SIZE);
+            model.addAttribute("bookings", page.getBookings());
+            model.addAttribute("page", page);
+            model.addAttribute("statusCounts", bookingService.getClientStatusCounts(currentUser));
+            model.addAttribute("waitlistEntries", waitlistService.getUpcomingEntries(currentUser));
+            model.addAttribute("activeSeries", bookingService.getActiveSeries(currentUser));
             model.addAttribute("currentUser", currentUser); // ADD THIS LINE
             return "client/bookings";
             
@@ -112,13 +147,110 @@ public class UserBookingController {
         }
     }
 
+    @PostMapping("/hold")
+    public String holdSlot(
+            @RequestParam("professionalId") Long professionalId,
+            @RequestParam("availabilityId") Long availabilityId,
+            @RequestParam(value = "startTime", required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
+            RedirectAttributes redirectAttributes) {
+        
+        try {
+            User currentUser = requireAuthentication();
+            SlotHold hold = slotHoldService.placeHold(currentUser, availabilityId, startTime);
+            return "redirect:/client/bookings/confirm?hold=" + hold.getToken();
+            
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/login";
+        } catch (AvailabilityNotFoundException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/professionals";
+        } catch (SlotNotAvailableException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            offerWaitlist(redirectAttributes, availabilityId, startTime);
+            return "redirect:/client/professional/" + professionalId;
+        } catch (BookingException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/professional/" + professionalId;
+        } catch (Exception e) {
+            logger.error("Unexpected error holding slot", e);
+            redirectAttributes.addFlashAttribute("error", 
+                "An unexpected error occurred while reserving this slot. Please try again.");
+            return "redirect:/client/professional/" + professionalId;
+        }
+    }
+
+    @GetMapping("/confirm")
+    public String showBookingConfirmation(
+            @RequestParam("hold") String holdToken,
+            Model model,
+            RedirectAttributes redirectAttributes) {
+        
+        try {
+            User currentUser = requireAuthentication();
+            SlotHold hold = slotHoldService.findHold(holdToken, currentUser).orElse(null);
+            if (hold == null) {
+                redirectAttributes.addFlashAttribute("error", 
+                    "Your reservation has expired. Please pick a time slot again.");
+                return "redirect:/client/professionals";
+            }
+            
+            model.addAttribute("hold", hold);
+            model.addAttribute("profile", professionalService.getProfileById(hold.getProfessionalId()));
+            model.addAttribute("expiresAtMillis", 
+                hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            return "client/booking-confirm";
+            
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/login";
+        } catch (Exception e) {
+            logger.error("Unexpected error loading booking confirmation", e);
+            redirectAttributes.addFlashAttribute("error", "Could not load your reservation. Please try again.");
+            return "redirect:/client/professionals";
+        }
+    }
+
+    @PostMapping("/hold/release")
+    public String releaseHold(
+            @RequestParam("holdToken") String holdToken,
+            @RequestParam("professionalId") Long professionalId) {
+        
+        try {
+            User currentUser = requireAuthentication();
+            slotHoldService.releaseHold(holdToken, currentUser);
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/login";
+        } catch (Exception e) {
+            logger.warn("Could not release hold", e);
+        }
+        return "redirect:/client/professional/" + professionalId;
+    }
+
     @PostMapping("/create")
     public String createBooking(
             @RequestParam("professionalId") Long professionalId,
             @RequestParam("availabilityId") Long availabilityId,
+            @RequestParam(value = "startTime", required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
             @RequestParam(value = "serviceDetails", required = false) String serviceDetails,
+            @RequestParam(value = "holdToken", required = false) String holdToken,
+            @RequestParam(value = "repeatWeeks", required = false) Integer repeatWeeks,
+            @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
             RedirectAttributes redirectAttributes) {
         
+        try {
+            return idempotencyService.execute(getCurrentUserId(), idempotencyKey, () -> SubmissionOutcome.of(
+                    submitBooking(professionalId, availabilityId, startTime, serviceDetails, holdToken, repeatWeeks,
+                            redirectAttributes),
+                    redirectAttributes)).applyTo(redirectAttributes);
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/bookings";
+        }
+    }
+
+    private String submitBooking(Long professionalId, Long availabilityId, LocalTime startTime,
+                                 String serviceDetails, String holdToken, Integer repeatWeeks,
+                                 RedirectAttributes redirectAttributes) {
+        
         try {
             User currentUser = requireAuthentication();
 
@@ -137,7 +269,22 @@ public class UserBookingController {
             BookingDto bookingDto = new BookingDto();
             bookingDto.setProfessionalId(professionalId);
             bookingDto.setAvailabilityId(availabilityId);
+            bookingDto.setStartTime(startTime);
             bookingDto.setServiceDetails(serviceDetails);
+            bookingDto.setHoldToken(holdToken);
+
+            if (repeatWeeks != null && repeatWeeks > 1) {
+                BookingSeriesResult series = bookingService.createSeries(currentUser, bookingDto, repeatWeeks);
+                redirectAttributes.addFlashAttribute("message", "Weekly series booked: " + series.getBooked().size()
+                        + " of " + repeatWeeks + " weeks, awaiting confirmation.");
+                if (!series.getSkipped().isEmpty()) {
+                    redirectAttributes.addFlashAttribute("error", "Not booked: " + String.join("; ",
+                            series.getSkipped().entrySet().stream()
+                                    .map(skipped -> skipped.getKey() + " (" + skipped.getValue() + ")")
+                                    .toList()));
+                }
+                return "redirect:/client/bookings";
+            }
 
             Booking booking = bookingService.createBooking(currentUser, bookingDto);
             redirectAttributes.addFlashAttribute("message", 
@@ -149,6 +296,7 @@ public class UserBookingController {
         } catch (SlotNotAvailableException e) {
             logger.warn("Slot not available for booking creation", e);
             redirectAttributes.addFlashAttribute("error", e.getMessage());
+            offerWaitlist(redirectAttributes, availabilityId, startTime);
             return "redirect:/client/professional/" + professionalId;
         } catch (ProfessionalNotFoundException | AvailabilityNotFoundException e) {
             logger.warn("Resource not found during booking creation", e);
@@ -169,8 +317,21 @@ public class UserBookingController {
     @PostMapping("/cancel/{id}")
     public String cancelBooking(
             @PathVariable Long id,
+            @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
             RedirectAttributes redirectAttributes) {
         
+        try {
+            return idempotencyService.execute(getCurrentUserId(), idempotencyKey,
+                    () -> SubmissionOutcome.of(submitCancellation(id, redirectAttributes), redirectAttributes))
+                    .applyTo(redirectAttributes);
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/bookings";
+        }
+    }
+
+    private String submitCancellation(Long id, RedirectAttributes redirectAttributes) {
+        
         try {
             User currentUser = requireAuthentication();
             
@@ -197,6 +358,52 @@ public class UserBookingController {
         return "redirect:/client/bookings";
     }
 
+    @PostMapping("/series/{id}/cancel")
+    public String cancelSeries(
+            @PathVariable Long id,
+            @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
+            RedirectAttributes redirectAttributes) {
+
+        try {
+            return idempotencyService.execute(getCurrentUserId(), idempotencyKey,
+                    () -> SubmissionOutcome.of(submitSeriesCancellation(id, redirectAttributes), redirectAttributes))
+                    .applyTo(redirectAttributes);
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/client/bookings";
+        }
+    }
+
+    private String submitSeriesCancellation(Long id, RedirectAttributes redirectAttributes) {
+
+        try {
+            User currentUser = requireAuthentication();
+            BulkActionResult result = bookingService.cancelSeries(id, currentUser);
+            redirectAttributes.addFlashAttribute("message",
+                    "Cancelled " + result.getApplied().size() + " upcoming bookings in the series.");
+
+        } catch (UnauthorizedAccessException e) {
+            return "redirect:/login";
+        } catch (BookingException e) {
+            logger.error("Error cancelling booking series with ID: " + id, e);
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error cancelling booking series with ID: " + id, e);
+            redirectAttributes.addFlashAttribute("error",
+                "An unexpected error occurred while cancelling your series. Please try again.");
+        }
+
+        return "redirect:/client/bookings";
+    }
+
+    // Lets the professional page offer the taken slot's waitlist
+    private void offerWaitlist(RedirectAttributes redirectAttributes, Long availabilityId, LocalTime startTime) {
+        redirectAttributes.addFlashAttribute("waitlistAvailabilityId", String.valueOf(availabilityId));
+        if (startTime != null) {
+            redirectAttributes.addFlashAttribute("waitlistStartTime", startTime.toString());
+        }
+    }
+
     // Additional helper endpoint to check if user can book a specific slot
     @GetMapping("/check-availability/{availabilityId}")
     public String checkSlotAvailability(
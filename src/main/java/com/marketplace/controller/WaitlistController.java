@@ -0,0 +1,111 @@
+package com.marketplace.controller;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.marketplace.exception.BookingException;
+import com.marketplace.exception.ProfessionalNotFoundException;
+import com.marketplace.exception.UnauthorizedAccessException;
+import com.marketplace.model.User;
+import com.marketplace.security.service.UserDetailsImpl;
+import com.marketplace.service.UserService;
+import com.marketplace.service.WaitlistService;
+
+@Controller
+@RequestMapping("/client/waitlist")
+public class WaitlistController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistController.class);
+
+    private final WaitlistService waitlistService;
+    private final UserService userService;
+
+    public WaitlistController(WaitlistService waitlistService, UserService userService) {
+        this.waitlistService = waitlistService;
+        this.userService = userService;
+    }
+
+    // Helper method to get current user
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserDetailsImpl) {
+            UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
+            return userService.findById(userDetails.getId()).orElse(null);
+        }
+        return null;
+    }
+
+    @PostMapping("/slot")
+    public String joinSlotWaitlist(
+            @RequestParam("professionalId") Long professionalId,
+            @RequestParam("availabilityId") Long availabilityId,
+            @RequestParam(value = "startTime", required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
+            RedirectAttributes redirectAttributes) {
+        
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+        try {
+            waitlistService.joinSlot(currentUser, availabilityId, startTime);
+            redirectAttributes.addFlashAttribute("message", 
+                "You're on the waitlist. If this slot frees up, it will be booked for you automatically.");
+        } catch (BookingException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error joining waitlist for availability ID: " + availabilityId, e);
+            redirectAttributes.addFlashAttribute("error", "Could not join the waitlist. Please try again.");
+        }
+        return "redirect:/client/professional/" + professionalId;
+    }
+
+    @PostMapping("/day")
+    public String joinDayWaitlist(
+            @RequestParam("professionalId") Long professionalId,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            RedirectAttributes redirectAttributes) {
+        
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+        try {
+            waitlistService.joinDay(currentUser, professionalId, date);
+            redirectAttributes.addFlashAttribute("message", 
+                "You're on the waitlist for " + date + ". The first slot that frees up will be booked for you.");
+        } catch (ProfessionalNotFoundException | BookingException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error joining day waitlist for professional ID: " + professionalId, e);
+            redirectAttributes.addFlashAttribute("error", "Could not join the waitlist. Please try again.");
+        }
+        return "redirect:/client/professional/" + professionalId;
+    }
+
+    @PostMapping("/leave/{id}")
+    public String leaveWaitlist(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+        try {
+            waitlistService.leave(id, currentUser);
+            redirectAttributes.addFlashAttribute("message", "You have left the waitlist.");
+        } catch (BookingException | UnauthorizedAccessException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/client/bookings";
+    }
+}
@@ -53,6 +53,10 @@ public class AvailabilityDto {
     private boolean weeklyRecurrence = false;
     private Integer recurrenceWeeks = 1;
     
+    // For working windows split into bookable sub-slots (empty = single slot)
+    private Integer slotDurationMinutes;
+    private Integer bufferMinutes;
+    
     // Custom validation for single availability
     @AssertTrue(message = "End time must be after start time")
     public boolean isValidTimeRange() {
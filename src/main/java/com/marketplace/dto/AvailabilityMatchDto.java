@@ -0,0 +1,35 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.marketplace.model.ProfessionalProfile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A professional who is free inside a requested time window, with the free
+ * interval (clipped to the window) that matched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatchDto {
+
+    private ProfessionalProfile professional;
+
+    private LocalDate date;
+
+    private LocalTime freeFrom;
+
+    private LocalTime freeTo;
+
+    // Minutes between the requested start and the start of the free interval
+    private long minutesFromRequested;
+
+    public boolean isExactMatch() {
+        return minutesFromRequested == 0;
+    }
+}
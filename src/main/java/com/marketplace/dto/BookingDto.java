@@ -33,4 +33,7 @@ public class BookingDto {
     
     @DateTimeFormat(pattern = "HH:mm")
     private LocalTime endTime;
+    
+    // Checkout hold taken when the booking form was opened, if any
+    private String holdToken;
 }
\ No newline at end of file
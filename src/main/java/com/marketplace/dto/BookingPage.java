@@ -0,0 +1,31 @@
+package com.marketplace.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.marketplace.model.Booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a booking list, newest first. The next page starts after
+ * (nextCreatedAt, nextId); both are null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPage {
+
+    private List<Booking> bookings = new ArrayList<>();
+
+    private LocalDateTime nextCreatedAt;
+
+    private Long nextId;
+
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+
+import com.marketplace.enums.BookingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters for searching a professional's bookings; null or blank fields do not filter.
+ * The date range applies to the booking date and includes both ends.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSearch {
+
+    // Start of the client's full name, case-insensitive
+    private String clientName;
+
+    private BookingStatus status;
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    // Text anywhere in the service details, case-insensitive
+    private String keyword;
+}
@@ -0,0 +1,34 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.marketplace.model.Booking;
+import com.marketplace.model.BookingSeries;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of booking a weekly series: the bookings made and, for the weeks that
+ * could not be booked, why.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResult {
+
+    private BookingSeries series;
+
+    private List<Booking> booked = new ArrayList<>();
+
+    private Map<LocalDate, String> skipped = new LinkedHashMap<>();
+
+    public void skip(LocalDate date, String reason) {
+        skipped.put(date, reason);
+    }
+}
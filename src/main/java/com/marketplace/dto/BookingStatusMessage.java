@@ -0,0 +1,20 @@
+package com.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pushed to both parties of a booking when its status changes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusMessage {
+
+    private Long bookingId;
+    private String eventType;
+    // Null when the booking was just created
+    private String fromStatus;
+    private String toStatus;
+}
@@ -0,0 +1,28 @@
+package com.marketplace.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-booking outcome of a bulk status change: the ids that changed and, for the
+ * rest, why they were skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkActionResult {
+
+    private List<Long> applied = new ArrayList<>();
+
+    private Map<Long, String> skipped = new LinkedHashMap<>();
+
+    public void skip(Long bookingId, String reason) {
+        skipped.put(bookingId, reason);
+    }
+}
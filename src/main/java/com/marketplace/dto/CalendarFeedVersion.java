@@ -0,0 +1,19 @@
+package com.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Validators for a calendar feed response, derived from the newest booking change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarFeedVersion {
+
+    private String etag;
+
+    // Epoch millis, or -1 when the user has no bookings yet
+    private long lastModified;
+}
@@ -0,0 +1,20 @@
+package com.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of an external calendar import, shown back to the professional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarImportResult {
+
+    private int eventsRead;
+
+    private int busyBlocksImported;
+
+    private int slotsBlocked;
+}
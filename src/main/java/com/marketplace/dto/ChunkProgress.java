@@ -0,0 +1,19 @@
+package com.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a keyset scan got to: the last id it read, to resume after, and how many rows
+ * in the chunk were changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkProgress {
+
+    private Long lastId;
+
+    private int processed;
+}
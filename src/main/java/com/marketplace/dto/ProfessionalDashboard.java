@@ -0,0 +1,42 @@
+package com.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Figures shown on the professional dashboard. The week runs Monday to Sunday and
+ * new reviews are those from the last seven days.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalDashboard {
+
+    private long pendingRequests;
+
+    private long confirmedToday;
+
+    private long confirmedThisWeek;
+
+    private double averageRating;
+
+    private int totalReviews;
+
+    private long newReviews;
+
+    // Minutes of confirmed or completed work this week against minutes offered
+    private long bookedMinutes;
+
+    private long offeredMinutes;
+
+    /**
+     * Share of this week's offered time that is booked, or null when nothing is offered
+     */
+    public Integer getUtilizationPercent() {
+        if (offeredMinutes <= 0) {
+            return null;
+        }
+        return (int) Math.min(100, Math.round(bookedMinutes * 100.0 / offeredMinutes));
+    }
+}
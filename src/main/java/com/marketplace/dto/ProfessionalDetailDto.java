@@ -0,0 +1,48 @@
+package com.marketplace.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the public professional page renders, read from the professional_view row.
+ * Reviews are the latest few and slots the next open ones, not complete lists.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalDetailDto {
+
+    private Long id;
+
+    private String fullName;
+
+    private String categoryName;
+
+    private String bio;
+
+    private Double hourlyRate;
+
+    private String serviceAreaCity;
+
+    private String serviceAreaState;
+
+    private String profilePhotoUrl;
+
+    private List<String> certificatesList = new ArrayList<>();
+
+    private Double averageRating;
+
+    private Integer totalReviews;
+
+    private List<ReviewSummaryDto> reviews = new ArrayList<>();
+
+    private List<SlotDto> openSlots = new ArrayList<>();
+
+    public boolean hasCertificates() {
+        return certificatesList != null && !certificatesList.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A review as shown on the public professional page, without the entities behind it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSummaryDto {
+
+    private String clientName;
+
+    private String clientUsername;
+
+    private Integer rating;
+
+    private String comment;
+
+    private LocalDateTime createdAt;
+
+    private LocalDate bookingDate;
+}
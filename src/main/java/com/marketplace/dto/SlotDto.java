@@ -0,0 +1,29 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bookable time slot shown to clients. Either a plain availability row or a
+ * sub-slot generated from a working window; in both cases availabilityId points
+ * at the backing availability row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDto {
+
+    private Long availabilityId;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private boolean generated;
+}
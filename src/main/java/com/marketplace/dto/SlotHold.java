@@ -0,0 +1,42 @@
+package com.marketplace.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A client's short-lived reservation of a slot while they fill in the booking form.
+ * Plain slots are held in availability.held_until, generated sub-slots of working
+ * windows in window_slot_holds, so every node sees both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotHold {
+
+    private String token;
+
+    private Long clientId;
+
+    private Long professionalId;
+
+    private Long availabilityId;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private LocalDateTime expiresAt;
+
+    private boolean windowSlot;
+
+    public boolean isExpiredAt(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,55 @@
+package com.marketplace.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a form submission ended with: the redirect and its flash messages. Kept per
+ * idempotency key so a repeated submission gets the same page as the original.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionOutcome {
+
+    private String view;
+
+    private Map<String, String> flashMessages;
+
+    /**
+     * Captures the string flash attributes (message/error) the handler left behind.
+     */
+    public static SubmissionOutcome of(String view, RedirectAttributes redirectAttributes) {
+        Map<String, String> messages = new LinkedHashMap<>();
+        redirectAttributes.getFlashAttributes().forEach((name, value) -> {
+            if (value instanceof String text) {
+                messages.put(name, text);
+            }
+        });
+        return new SubmissionOutcome(view, messages);
+    }
+
+    /**
+     * True when the handler only reported an error. A partial success, such as a series with
+     * some weeks skipped, also leaves a message and counts as done.
+     */
+    public boolean isFailure() {
+        return flashMessages != null && flashMessages.containsKey("error") && !flashMessages.containsKey("message");
+    }
+
+    /**
+     * Replays the flash messages onto the current request and returns the view.
+     */
+    public String applyTo(RedirectAttributes redirectAttributes) {
+        if (flashMessages != null) {
+            flashMessages.forEach(redirectAttributes::addFlashAttribute);
+        }
+        return view;
+    }
+}
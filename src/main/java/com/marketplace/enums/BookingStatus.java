@@ -1,9 +1,18 @@
 package com.marketplace.enums;
 
+import java.util.List;
+
 public enum BookingStatus {
     PENDING,      // Booking requested but not confirmed
     CONFIRMED,    // Booking confirmed by professional
     CANCELLED,    // Booking cancelled by client or professional
     COMPLETED,    // Service completed
-    REJECTED      // Booking rejected by professional
+    REJECTED;     // Booking rejected by professional
+
+    // Statuses that still occupy the booked time
+    public static final List<BookingStatus> ACTIVE = List.of(PENDING, CONFIRMED);
+
+    public boolean isActive() {
+        return this == PENDING || this == CONFIRMED;
+    }
 }
\ No newline at end of file
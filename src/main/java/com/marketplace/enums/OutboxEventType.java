@@ -0,0 +1,21 @@
+package com.marketplace.enums;
+
+public enum OutboxEventType {
+    BOOKING_CREATED("BOOKING"),
+    BOOKING_STATUS_CHANGED("BOOKING"),
+    REVIEW_CREATED("REVIEW"),
+    REVIEW_UPDATED("REVIEW"),
+    REVIEW_DELETED("REVIEW"),
+    PROFILE_UPDATED("PROFESSIONAL"),
+    AVAILABILITY_CHANGED("PROFESSIONAL");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
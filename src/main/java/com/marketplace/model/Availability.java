@@ -10,10 +10,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,7 +23,14 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "availability", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"professional_id", "date", "start_time"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"professional_id", "date", "start_time"}),
+       indexes = {
+           @Index(name = "idx_availability_hold_token", columnList = "hold_token"),
+           // A professional's open slots by date, already in start-time order
+           @Index(name = "idx_availability_professional_open", columnList = "professional_id, is_booked, date, start_time"),
+           // Open slots on a date across professionals, for time-based search
+           @Index(name = "idx_availability_date_open", columnList = "date, is_booked, start_time")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,9 +57,33 @@ public class Availability {
     @Column(name = "is_booked", nullable = false)
     private boolean isBooked = false;
 
+    // Set when is_booked was flipped by an external calendar import rather than a booking
+    @Column(name = "calendar_blocked", nullable = false)
+    private boolean calendarBlocked = false;
+
+    // Checkout hold: while held_until is in the future only the holder of hold_token can book
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil;
+
+    @Column(name = "hold_token", length = 36)
+    private String holdToken;
+
+    // When set, this row is a working window and bookable sub-slots are generated on read
+    @Column(name = "slot_duration_minutes")
+    private Integer slotDurationMinutes;
+
+    // Gap left between generated sub-slots
+    @Column(name = "buffer_minutes")
+    private Integer bufferMinutes;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // For optimistic locking; the native reserve, hold and release UPDATEs bump it too
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructor for creating availability
     public Availability(ProfessionalProfile professional, LocalDate date, LocalTime startTime, LocalTime endTime) {
         this.professional = professional;
@@ -59,6 +92,19 @@ public class Availability {
         this.endTime = endTime;
     }
     
+    // Check if this row is a working window split into sub-slots
+    public boolean isWindow() {
+        return slotDurationMinutes != null && slotDurationMinutes > 0;
+    }
+
+    public boolean isHeldAt(LocalDateTime now) {
+        return heldUntil != null && heldUntil.isAfter(now);
+    }
+
+    public int getBufferMinutesOrZero() {
+        return bufferMinutes != null ? bufferMinutes : 0;
+    }
+
     // Check if time slot overlaps with another
     public boolean overlapsWith(LocalTime otherStart, LocalTime otherEnd) {
         return this.startTime.isBefore(otherEnd) && otherStart.isBefore(this.endTime);
@@ -14,17 +14,38 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = {
+           // Cover the MAX(updated_at) lookups behind calendar feed ETags
+           @Index(name = "idx_bookings_client_updated", columnList = "client_id, updated_at"),
+           @Index(name = "idx_bookings_professional_updated", columnList = "professional_id, updated_at"),
+           // Date-range, overlap and occupied-interval lookups per professional or client
+           @Index(name = "idx_bookings_professional_date", columnList = "professional_id, booking_date, start_time"),
+           @Index(name = "idx_bookings_client_date", columnList = "client_id, booking_date, start_time"),
+           // The weeks of a booking series in date order
+           @Index(name = "idx_bookings_series_date", columnList = "series_id, booking_date"),
+           // Keyset pages of a user's bookings, newest first, with and without a status filter
+           @Index(name = "idx_bookings_client_created", columnList = "client_id, created_at, id"),
+           @Index(name = "idx_bookings_client_status_created", columnList = "client_id, status, created_at, id"),
+           @Index(name = "idx_bookings_professional_created", columnList = "professional_id, created_at, id"),
+           @Index(name = "idx_bookings_professional_status_created", columnList = "professional_id, status, created_at, id"),
+           // Pending bookings in deadline order for the expiry engine
+           @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+           // Keyset scans over one status in id order, e.g. auto-completion
+           @Index(name = "idx_bookings_status_id", columnList = "status, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,6 +69,12 @@ public class Booking {
     @JoinColumn(name = "availability_id")
     private Availability availability;
 
+    // Set when the booking is one week of a recurring series
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    @ToString.Exclude
+    private BookingSeries series;
+
     @Column(name = "service_details", length = 1000)
     private String serviceDetails;
 
@@ -70,6 +97,11 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // For optimistic locking; bulk status UPDATEs bump it too, so a stale entity save fails
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PreUpdate
     public void preUpdate() {
         updatedAt = LocalDateTime.now();
@@ -85,6 +117,18 @@ public class Booking {
         this.endTime = availability.getEndTime();
         this.serviceDetails = serviceDetails;
     }
+
+    // Constructor for booking a generated sub-slot of a working window
+    public Booking(User client, ProfessionalProfile professional, Availability availability,
+                   LocalTime startTime, LocalTime endTime, String serviceDetails) {
+        this.client = client;
+        this.professional = professional;
+        this.availability = availability;
+        this.bookingDate = availability.getDate();
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.serviceDetails = serviceDetails;
+    }
    
 
     
@@ -0,0 +1,77 @@
+package com.marketplace.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A weekly repeat of one slot time with a professional, booked in one go. The bookings
+ * it produced point back at it; weeks whose slot could not be booked have no booking.
+ */
+@Entity
+@Table(name = "booking_series",
+       indexes = @Index(name = "idx_booking_series_client", columnList = "client_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    @ToString.Exclude
+    private User client;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    @ToString.Exclude
+    private ProfessionalProfile professional;
+
+    // Date of the first week; the others follow every 7 days
+    @Column(name = "first_date", nullable = false)
+    private LocalDate firstDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "weeks", nullable = false)
+    private int weeks;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Set when the client or professional cancelled the rest of the series
+    @Column(name = "cancelled_at")
+    private LocalDateTime cancelledAt;
+
+    public BookingSeries(User client, ProfessionalProfile professional, LocalDate firstDate,
+                         LocalTime startTime, LocalTime endTime, int weeks) {
+        this.client = client;
+        this.professional = professional;
+        this.firstDate = firstDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.weeks = weeks;
+    }
+}
@@ -0,0 +1,63 @@
+package com.marketplace.model;
+
+import java.time.LocalDateTime;
+
+import com.marketplace.enums.BookingStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only record of a booking status change. Ids rather than associations, so
+ * rows can be written in batches without loading anything.
+ */
+@Entity
+@Table(name = "booking_status_history",
+       indexes = @Index(name = "idx_status_history_booking", columnList = "booking_id, changed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    // Null when the booking was created
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private BookingStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private BookingStatus toStatus;
+
+    // Null for changes made by the system, such as waitlist promotion
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public BookingStatusHistory(Long bookingId, BookingStatus fromStatus, BookingStatus toStatus,
+                                Long actorId, LocalDateTime changedAt) {
+        this.bookingId = bookingId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.actorId = actorId;
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.marketplace.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far an outbox subscriber has got: every event with a sequence number up to and
+ * including lastEventId has been handled. The relay's sequencer keeps the last number
+ * it handed out in a row of its own.
+ */
+@Entity
+@Table(name = "outbox_consumer_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumerOffset {
+
+    @Id
+    @Column(name = "consumer_name", length = 100)
+    private String consumerName;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
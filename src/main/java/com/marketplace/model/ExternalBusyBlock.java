@@ -0,0 +1,67 @@
+package com.marketplace.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Busy time imported from a professional's external calendar, split per day so it
+ * can be matched against availability rows the same way bookings are.
+ */
+@Entity
+@Table(name = "external_busy_blocks",
+       indexes = @Index(name = "idx_busy_professional_date", columnList = "professional_id, date, start_time"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalBusyBlock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    @ToString.Exclude
+    private ProfessionalProfile professional;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // UID of the source VEVENT, shared by all occurrences of a recurring event
+    @Column(name = "source_uid")
+    private String sourceUid;
+
+    @Column(name = "imported_at")
+    private LocalDateTime importedAt = LocalDateTime.now();
+
+    public ExternalBusyBlock(ProfessionalProfile professional, LocalDate date, LocalTime startTime,
+                             LocalTime endTime, String sourceUid) {
+        this.professional = professional;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.sourceUid = sourceUid;
+    }
+}
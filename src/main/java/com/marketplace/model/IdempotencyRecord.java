@@ -0,0 +1,58 @@
+package com.marketplace.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Completed form submission, shared between nodes when app.idempotency.persistent is on.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+       uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_key", columnNames = {"user_id", "idempotency_key"}),
+       indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "view_name", nullable = false)
+    private String view;
+
+    @Column(name = "flash_key", length = 32)
+    private String flashKey;
+
+    @Column(name = "flash_message", length = 500)
+    private String flashMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public IdempotencyRecord(Long userId, String idempotencyKey, String view, String flashKey, String flashMessage) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.view = view;
+        this.flashKey = flashKey;
+        this.flashMessage = flashMessage;
+    }
+}
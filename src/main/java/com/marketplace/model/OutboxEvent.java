@@ -0,0 +1,69 @@
+package com.marketplace.model;
+
+import java.time.LocalDateTime;
+
+import com.marketplace.enums.OutboxEventType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Domain event written in the same transaction as the change it describes. Ids are
+ * taken at insert, so they do not follow commit order; the relay gives each event a
+ * sequence number once it has committed, and consumer offsets point into that.
+ */
+@Entity
+@Table(name = "outbox_events",
+       indexes = {
+           @Index(name = "idx_outbox_created", columnList = "created_at"),
+           // Unsequenced events sort by id, since InnoDB secondary indexes end in the primary key
+           @Index(name = "idx_outbox_sequence", columnList = "sequence_no", unique = true)
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    // JSON object with the ids and values subscribers need, so they rarely have to read back
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Delivery order; null until the relay has seen the event committed
+    @Column(name = "sequence_no")
+    private Long sequence;
+
+    public OutboxEvent(OutboxEventType eventType, Long aggregateId, String payload, LocalDateTime createdAt) {
+        this.aggregateType = eventType.getAggregateType();
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
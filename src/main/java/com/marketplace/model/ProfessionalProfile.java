@@ -24,6 +24,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
@@ -33,7 +34,8 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "professional_profiles")
+@Table(name = "professional_profiles",
+       indexes = @Index(name = "idx_profiles_category_rating", columnList = "category_id, average_rating"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -77,10 +79,17 @@ public class ProfessionalProfile {
 
     private String serviceAreaState;
 
+    // The rating aggregates only change through ProfessionalProfileRepository.applyRatingDelta,
+    // so saving a profile loaded before a review was written cannot put back stale values
+    @Column(updatable = false)
     private Double averageRating = 0.0;
 
+    @Column(updatable = false)
     private Integer totalReviews = 0;
 
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private Long ratingSum = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -108,6 +117,11 @@ public class ProfessionalProfile {
     }
     @Transient
     public List<String> getCertificatesList() {
+        return parseCertificateUrls(certificatesUrls);
+    }
+
+    // Shared with the professional read model, which stores the column as is
+    public static List<String> parseCertificateUrls(String certificatesUrls) {
         if (certificatesUrls == null || certificatesUrls.trim().isEmpty()) {
             return new ArrayList<>();
         }
@@ -0,0 +1,79 @@
+package com.marketplace.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized copy of everything the public professional page shows, keyed by
+ * profile ID and rebuilt from outbox events. Reviews and slots are stored as JSON.
+ */
+@Entity
+@Table(name = "professional_view")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfessionalView {
+
+    @Id
+    @Column(name = "profile_id")
+    private Long profileId;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Column(length = 1000)
+    private String bio;
+
+    @Column(name = "hourly_rate")
+    private Double hourlyRate;
+
+    @Column(name = "service_area_city")
+    private String serviceAreaCity;
+
+    @Column(name = "service_area_state")
+    private String serviceAreaState;
+
+    @Column(name = "profile_photo_url")
+    private String profilePhotoUrl;
+
+    @Column(name = "certificates_urls")
+    private String certificatesUrls;
+
+    @Column(name = "average_rating")
+    private Double averageRating;
+
+    @Column(name = "total_reviews")
+    private Integer totalReviews;
+
+    @Lob
+    @Column(name = "latest_reviews")
+    private String latestReviews;
+
+    @Lob
+    @Column(name = "open_slots")
+    private String openSlots;
+
+    // Sequence number of the latest outbox event reflected; redelivered events at or below it are skipped
+    @Column(name = "last_event_id")
+    private Long lastEventId;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    // Page-view refreshes build outside any lock; a write from a stale read fails instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.Max;
@@ -24,7 +25,12 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = {
+           // Live reviews per professional or client, newest first, and the rating aggregates
+           @Index(name = "idx_reviews_professional_live", columnList = "professional_id, deleted, created_at"),
+           @Index(name = "idx_reviews_client_live", columnList = "client_id, deleted, created_at")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
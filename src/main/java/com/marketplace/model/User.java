@@ -53,6 +53,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Secret used in the calendar feed URL, calendar apps cannot log in
+    @Column(name = "calendar_token", unique = true, length = 64)
+    private String calendarToken;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
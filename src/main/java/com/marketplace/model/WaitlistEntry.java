@@ -0,0 +1,83 @@
+package com.marketplace.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A client waiting for a taken slot, or for any slot with a professional on a day.
+ * Queue order is the id; both indexes end in id so the head of either queue is a
+ * single index seek.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+       indexes = {
+           @Index(name = "idx_waitlist_slot", columnList = "availability_id, start_time, id"),
+           @Index(name = "idx_waitlist_day", columnList = "professional_id, date, id"),
+           @Index(name = "idx_waitlist_client", columnList = "client_id"),
+           // Past entries are purged oldest date first
+           @Index(name = "idx_waitlist_date", columnList = "date, id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    @ToString.Exclude
+    private User client;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    @ToString.Exclude
+    private ProfessionalProfile professional;
+
+    // Null for a day waitlist
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "availability_id")
+    @ToString.Exclude
+    private Availability availability;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    // Sub-slot of a working window; null for plain slots and day waitlists
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public WaitlistEntry(User client, ProfessionalProfile professional, Availability availability,
+                         LocalDate date, LocalTime startTime) {
+        this.client = client;
+        this.professional = professional;
+        this.availability = availability;
+        this.date = date;
+        this.startTime = startTime;
+    }
+
+    public boolean isDayEntry() {
+        return availability == null;
+    }
+}
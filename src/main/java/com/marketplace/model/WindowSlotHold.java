@@ -0,0 +1,61 @@
+package com.marketplace.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A checkout's hold on one generated sub-slot of a working window, the counterpart of
+ * availability.held_until for plain slots. At most one row per sub-slot; an expired row
+ * is taken over by the next hold rather than deleted first. Ids rather than associations,
+ * so a stale row never blocks deleting its window.
+ */
+@Entity
+@Table(name = "window_slot_holds",
+       uniqueConstraints = @UniqueConstraint(name = "uk_window_hold_slot", columnNames = {"availability_id", "start_time"}),
+       indexes = @Index(name = "idx_window_hold_token", columnList = "hold_token"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowSlotHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "availability_id", nullable = false)
+    private Long availabilityId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "professional_id", nullable = false)
+    private Long professionalId;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "hold_token", nullable = false, length = 36)
+    private String holdToken;
+
+    @Column(name = "held_until", nullable = false)
+    private LocalDateTime heldUntil;
+}
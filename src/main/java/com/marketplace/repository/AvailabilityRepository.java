@@ -1,11 +1,14 @@
 package com.marketplace.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,10 +17,23 @@ import org.springframework.stereotype.Repository;
 import com.marketplace.model.Availability;
 import com.marketplace.model.ProfessionalProfile;
 
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 
 @Repository
-public interface AvailabilityRepository extends JpaRepository<Availability, Long> {
+public interface AvailabilityRepository extends JpaRepository<Availability, Long>, AvailabilityRepositoryCustom {
+
+    /**
+     * Conditional reserve shared by {@link #markAsBookedIfAvailable} and the batched
+     * {@link AvailabilityRepositoryCustom#markAllAsBookedIfAvailable}
+     */
+    String MARK_AS_BOOKED_IF_AVAILABLE_SQL =
+            "UPDATE availability SET is_booked = true, held_until = NULL, hold_token = NULL, version = version + 1 " +
+            "WHERE id = :availabilityId AND is_booked = false " +
+            "AND (held_until IS NULL OR held_until < :now OR hold_token = :holdToken) " +
+            "AND NOT EXISTS (SELECT 1 FROM external_busy_blocks x " +
+            "WHERE x.professional_id = availability.professional_id AND x.date = availability.date " +
+            "AND x.start_time < availability.end_time AND x.end_time > availability.start_time)";
     
     List<Availability> findByProfessionalAndDateOrderByStartTime(ProfessionalProfile professional, LocalDate date);
     
@@ -62,17 +78,97 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
     List<Availability> findByProfessionalAndDateAndIsBookedFalse(ProfessionalProfile professional, LocalDate date);
     
     List<Availability> findByProfessionalAndIsBookedFalseOrderByDateAscStartTimeAsc(ProfessionalProfile professional);
+    
+    Optional<Availability> findByHoldToken(String holdToken);
+    
+    /**
+     * Open slots and working windows on a date that overlap [startTime, endTime), across all
+     * professionals matching the filters. Ordered by professional then start time so callers
+     * can sweep each professional's intervals in one pass.
+     */
+    @Query("SELECT a FROM Availability a JOIN a.professional p WHERE a.date = :date AND a.isBooked = false " +
+           "AND a.startTime < :endTime AND a.endTime > :startTime " +
+           "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+           "AND (:city IS NULL OR LOWER(p.serviceAreaCity) LIKE LOWER(CONCAT('%', :city, '%'))) " +
+           "ORDER BY p.id ASC, a.startTime ASC")
+    List<Availability> findOpenSlotsForSearch(
+        @Param("categoryId") Long categoryId,
+        @Param("city") String city,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+    
+    /**
+     * Loads a slot with its professional and the professional's user in one query,
+     * so booking validation needs no further lazy loads
+     */
+    @Query("SELECT a FROM Availability a JOIN FETCH a.professional p JOIN FETCH p.user WHERE a.id = :id")
+    Optional<Availability> findByIdWithProfessionalAndUser(@Param("id") Long id);
+
     /**
-     * Atomically marks an availability slot as booked if it's currently available
+     * A professional's plain slots (not working windows) at exactly this time on each of
+     * the given dates, for booking a weekly series
+     */
+    @Query("SELECT a FROM Availability a WHERE a.professional.id = :professionalId AND a.date IN :dates " +
+           "AND a.startTime = :startTime AND a.endTime = :endTime AND a.slotDurationMinutes IS NULL " +
+           "ORDER BY a.date ASC")
+    List<Availability> findPlainSlotsAt(
+        @Param("professionalId") Long professionalId,
+        @Param("dates") Collection<LocalDate> dates,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+    
+    /**
+     * Locks a working window while a sub-slot booking is checked and inserted,
+     * since windows stay unbooked and cannot use the is_booked guard
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Availability a WHERE a.id = :id")
+    Optional<Availability> findByIdForUpdate(@Param("id") Long id);
+    /**
+     * Atomically marks an availability slot as booked if it's currently available,
+     * not held by another client's checkout and not overlapped by imported calendar
+     * busy time. Clears the hold on success.
      * Using native SQL query to avoid JPA property mapping issues
      * @param availabilityId the ID of the availability slot
-     * @return the number of rows updated (1 if successful, 0 if slot was already booked)
+     * @param holdToken the caller's hold token, or null
+     * @param now current time, compared against held_until
+     * @return the number of rows updated (1 if successful, 0 if the slot cannot be booked)
      */
     @Modifying
     @Transactional
-    @Query(value = "UPDATE availability SET is_booked = true WHERE id = :availabilityId AND is_booked = false", 
+    @Query(value = MARK_AS_BOOKED_IF_AVAILABLE_SQL, nativeQuery = true)
+    int markAsBookedIfAvailable(@Param("availabilityId") Long availabilityId,
+                                @Param("holdToken") String holdToken,
+                                @Param("now") LocalDateTime now);
+    
+    /**
+     * Places a checkout hold on an open slot unless another unexpired hold exists
+     * @return 1 if the hold was placed, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE availability SET held_until = :heldUntil, hold_token = :holdToken, version = version + 1 " +
+                   "WHERE id = :availabilityId AND is_booked = false " +
+                   "AND (held_until IS NULL OR held_until < :now)", 
            nativeQuery = true)
-    int markAsBookedIfAvailable(@Param("availabilityId") Long availabilityId);
+    int placeHold(@Param("availabilityId") Long availabilityId,
+                  @Param("holdToken") String holdToken,
+                  @Param("heldUntil") LocalDateTime heldUntil,
+                  @Param("now") LocalDateTime now);
+    
+    /**
+     * Clears a hold if it still belongs to the given token
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE availability SET held_until = NULL, hold_token = NULL, version = version + 1 " +
+                   "WHERE id = :availabilityId AND hold_token = :holdToken", 
+           nativeQuery = true)
+    int clearHold(@Param("availabilityId") Long availabilityId, @Param("holdToken") String holdToken);
     
     /**
      * Atomically releases a booked slot
@@ -82,10 +178,51 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
      */
     @Modifying
     @Transactional
-    @Query(value = "UPDATE availability SET is_booked = false WHERE id = :availabilityId", 
+    @Query(value = "UPDATE availability SET is_booked = false, version = version + 1 WHERE id = :availabilityId", 
            nativeQuery = true)
     int releaseSlot(@Param("availabilityId") Long availabilityId);
     
+    /**
+     * Releases several booked slots in one statement
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE availability SET is_booked = false, version = version + 1 WHERE id IN (:availabilityIds)", 
+           nativeQuery = true)
+    int releaseSlots(@Param("availabilityIds") Collection<Long> availabilityIds);
+    
+    /**
+     * Frees the slots blocked by a professional's previous calendar import so a new
+     * import can recompute them
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE availability SET is_booked = false, calendar_blocked = false, version = version + 1 " +
+                   "WHERE professional_id = :professionalId AND calendar_blocked = true", 
+           nativeQuery = true)
+    int releaseCalendarBlockedSlots(@Param("professionalId") Long professionalId);
+    
+    /**
+     * Marks every open plain slot (not working windows) that overlaps an imported busy block
+     * as booked, in a single set-based statement
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE availability a SET a.is_booked = true, a.calendar_blocked = true, a.version = a.version + 1 " +
+                   "WHERE a.professional_id = :professionalId AND a.is_booked = false " +
+                   "AND a.slot_duration_minutes IS NULL AND a.date >= :startDate AND a.date <= :endDate " +
+                   "AND EXISTS (SELECT 1 FROM external_busy_blocks x WHERE x.professional_id = a.professional_id " +
+                   "AND x.date = a.date AND x.start_time < a.end_time AND x.end_time > a.start_time)", 
+           nativeQuery = true)
+    int blockSlotsOverlappingBusyTime(
+        @Param("professionalId") Long professionalId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
     // Alternative JPQL version if you prefer (try this if the above doesn't work)
     /*
     @Modifying
@@ -0,0 +1,17 @@
+package com.marketplace.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Availability writes that need plain JDBC.
+ */
+public interface AvailabilityRepositoryCustom {
+
+    /**
+     * Runs the conditional reserve of {@link AvailabilityRepository#markAsBookedIfAvailable}
+     * for every slot in one JDBC batch, in the caller's transaction.
+     * @return for each slot, in order, 1 if it was reserved and 0 if it could not be booked
+     */
+    int[] markAllAsBookedIfAvailable(List<Long> availabilityIds, String holdToken, LocalDateTime now);
+}
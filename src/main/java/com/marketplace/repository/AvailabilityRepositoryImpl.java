@@ -0,0 +1,37 @@
+package com.marketplace.repository;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+public class AvailabilityRepositoryImpl implements AvailabilityRepositoryCustom {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AvailabilityRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] markAllAsBookedIfAvailable(List<Long> availabilityIds, String holdToken, LocalDateTime now) {
+        SqlParameterSource[] batch = new SqlParameterSource[availabilityIds.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("availabilityId", availabilityIds.get(i))
+                    .addValue("holdToken", holdToken)
+                    .addValue("now", now);
+        }
+        int[] counts = jdbcTemplate.batchUpdate(AvailabilityRepository.MARK_AS_BOOKED_IF_AVAILABLE_SQL, batch);
+        for (int count : counts) {
+            // Without per-row counts we cannot tell which slots are ours; roll back rather than guess
+            if (count == Statement.SUCCESS_NO_INFO) {
+                throw new IllegalStateException("JDBC driver did not report row counts for the slot reserve batch");
+            }
+        }
+        return counts;
+    }
+}
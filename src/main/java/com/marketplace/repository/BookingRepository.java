@@ -1,10 +1,17 @@
 package com.marketplace.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +20,10 @@ import com.marketplace.model.Booking;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
     
     List<Booking> findByClientOrderByCreatedAtDesc(User client);
     
@@ -42,13 +51,276 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("endDate") LocalDate endDate
     );
     
-    List<Booking> findByAvailabilityId(Long availabilityId);
+    // Explicit FK predicates: the derived versions join availability first and scan bookings
+    @Query("SELECT b FROM Booking b WHERE b.availability.id = :availabilityId")
+    List<Booking> findByAvailabilityId(@Param("availabilityId") Long availabilityId);
+    
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.availability.id = :availabilityId AND b.status <> :status")
+    boolean existsByAvailabilityIdAndStatusNot(
+        @Param("availabilityId") Long availabilityId,
+        @Param("status") BookingStatus status
+    );
+    
+    boolean existsByAvailabilityIdAndStatusIn(Long availabilityId, Collection<BookingStatus> statuses);
+    
+    /**
+     * Time ranges already taken for a professional, as [bookingDate, startTime, endTime] rows
+     * ordered by date and start time. Used to carve booked sub-slots out of working windows.
+     */
+    @Query("SELECT b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+           "WHERE b.professional = :professional AND b.status IN :statuses " +
+           "AND b.bookingDate >= :startDate AND b.bookingDate <= :endDate " +
+           "ORDER BY b.bookingDate ASC, b.startTime ASC")
+    List<Object[]> findOccupiedIntervalsByProfessionalAndDateRange(
+        @Param("professional") ProfessionalProfile professional,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Time ranges taken on a date for several professionals, as [professionalId, startTime, endTime]
+     * rows ordered by professional and start time.
+     */
+    @Query("SELECT b.professional.id, b.startTime, b.endTime FROM Booking b " +
+           "WHERE b.professional.id IN :professionalIds AND b.bookingDate = :date AND b.status IN :statuses " +
+           "ORDER BY b.professional.id ASC, b.startTime ASC")
+    List<Object[]> findOccupiedIntervalsByProfessionalsAndDate(
+        @Param("professionalIds") Collection<Long> professionalIds,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        @Param("date") LocalDate date
+    );
     
-    boolean existsByAvailabilityIdAndStatusNot(Long availabilityId, BookingStatus status);
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.professional = :professional " +
+           "AND b.bookingDate = :date AND b.status IN :statuses " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime")
+    boolean existsOverlappingBooking(
+        @Param("professional") ProfessionalProfile professional,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
     
     List<Booking> findByProfessionalAndBookingDateAndStatusNot(
         ProfessionalProfile professional, 
         LocalDate date, 
         BookingStatus status
     );
-}
\ No newline at end of file
+    
+    /**
+     * Calendar feed version for a client as a single [MAX(updatedAt), COUNT] row.
+     * Served from the (client_id, updated_at) index without reading booking rows.
+     */
+    @Query("SELECT MAX(b.updatedAt), COUNT(b) FROM Booking b WHERE b.client = :client")
+    List<Object[]> findFeedVersionByClient(@Param("client") User client);
+    
+    /**
+     * Calendar feed version for a professional, see {@link #findFeedVersionByClient}
+     */
+    @Query("SELECT MAX(b.updatedAt), COUNT(b) FROM Booking b WHERE b.professional = :professional")
+    List<Object[]> findFeedVersionByProfessional(@Param("professional") ProfessionalProfile professional);
+    
+    /**
+     * Streams a client's bookings for the calendar feed with the professional's user fetched
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query("SELECT b FROM Booking b JOIN FETCH b.professional p JOIN FETCH p.user " +
+           "WHERE b.client = :client AND b.status IN :statuses " +
+           "AND b.bookingDate >= :startDate AND b.bookingDate <= :endDate " +
+           "ORDER BY b.bookingDate ASC, b.startTime ASC")
+    Stream<Booking> streamFeedBookingsByClient(
+        @Param("client") User client,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Streams a professional's bookings for the calendar feed with the client fetched
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query("SELECT b FROM Booking b JOIN FETCH b.client " +
+           "WHERE b.professional = :professional AND b.status IN :statuses " +
+           "AND b.bookingDate >= :startDate AND b.bookingDate <= :endDate " +
+           "ORDER BY b.bookingDate ASC, b.startTime ASC")
+    Stream<Booking> streamFeedBookingsByProfessional(
+        @Param("professional") ProfessionalProfile professional,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Current statuses of the given bookings that belong to the professional, as [id, status, clientId]
+     */
+    @Query("SELECT b.id, b.status, b.client.id FROM Booking b WHERE b.id IN :ids AND b.professional.id = :professionalId")
+    List<Object[]> findStatusesByIdsAndProfessional(
+        @Param("ids") Collection<Long> ids,
+        @Param("professionalId") Long professionalId
+    );
+    
+    /**
+     * Moves the professional's bookings from one status to another in one statement;
+     * rows whose status changed since they were read are left alone
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :newStatus, b.updatedAt = :now, b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.professional.id = :professionalId AND b.status = :currentStatus")
+    int updateStatusIfCurrent(
+        @Param("ids") Collection<Long> ids,
+        @Param("professionalId") Long professionalId,
+        @Param("currentStatus") BookingStatus currentStatus,
+        @Param("newStatus") BookingStatus newStatus,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Which of the given bookings a guarded status UPDATE moved: the ones in its target status
+     * carrying the updated_at it wrote, so a concurrent move to the same status is not counted
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :status AND b.updatedAt = :updatedAt")
+    List<Long> findIdsByIdInAndStatusAndUpdatedAt(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") BookingStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.availability WHERE b.id IN :ids")
+    List<Booking> findAllWithAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The bookings of a weekly series with their slots, in date order
+     */
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.availability WHERE b.series.id = :seriesId " +
+           "ORDER BY b.bookingDate ASC")
+    List<Booking> findAllWithAvailabilityBySeriesId(@Param("seriesId") Long seriesId);
+
+    /**
+     * Usernames of the booking's client and professional, as [clientUsername, professionalUsername]
+     */
+    @Query("SELECT c.username, u.username FROM Booking b JOIN b.client c JOIN b.professional p JOIN p.user u " +
+           "WHERE b.id = :id")
+    List<Object[]> findParticipantUsernames(@Param("id") Long bookingId);
+
+    /**
+     * Ids and creation times of bookings in a status, as [id, createdAt]
+     */
+    @Query("SELECT b.id, b.createdAt FROM Booking b WHERE b.status = :status")
+    List<Object[]> findIdsAndCreatedAtByStatus(@Param("status") BookingStatus status);
+
+    /**
+     * Cancels the given bookings that are still pending and were created before the cutoff
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.marketplace.enums.BookingStatus.CANCELLED, b.updatedAt = :now, b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.status = com.marketplace.enums.BookingStatus.PENDING " +
+           "AND b.createdAt <= :createdBefore")
+    int cancelPendingCreatedBefore(
+        @Param("ids") Collection<Long> ids,
+        @Param("createdBefore") LocalDateTime createdBefore,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Next chunk, in id order, of bookings in a status that ended at or before the cutoff,
+     * as [id, clientId, professionalId]
+     */
+    @Query("SELECT b.id, b.client.id, b.professional.id FROM Booking b " +
+           "WHERE b.status = :status AND b.id > :afterId " +
+           "AND (b.bookingDate < :cutoffDate OR (b.bookingDate = :cutoffDate AND b.endTime <= :cutoffTime)) " +
+           "ORDER BY b.id")
+    List<Object[]> findEndedAfterId(
+        @Param("status") BookingStatus status,
+        @Param("afterId") Long afterId,
+        @Param("cutoffDate") LocalDate cutoffDate,
+        @Param("cutoffTime") LocalTime cutoffTime,
+        Pageable pageable
+    );
+
+    /**
+     * Moves the given bookings from one status to another; rows no longer in that status are left alone
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :newStatus, b.updatedAt = :now, b.version = b.version + 1 " +
+           "WHERE b.id IN :ids AND b.status = :currentStatus")
+    int transitionStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("currentStatus") BookingStatus currentStatus,
+        @Param("newStatus") BookingStatus newStatus,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * A page of the client's bookings, newest first, optionally in one status, starting after
+     * the (createdAt, id) cursor; pass a null cursor for the first page
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.professional p JOIN FETCH p.user LEFT JOIN FETCH p.category " +
+           "WHERE b.client.id = :clientId AND (:status IS NULL OR b.status = :status) " +
+           "AND (:beforeId IS NULL OR b.createdAt < :beforeCreatedAt " +
+           "     OR (b.createdAt = :beforeCreatedAt AND b.id < :beforeId)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findClientPage(
+        @Param("clientId") Long clientId,
+        @Param("status") BookingStatus status,
+        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * A page of the professional's bookings, newest first, optionally in one status, starting
+     * after the (createdAt, id) cursor; pass a null cursor for the first page
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.client " +
+           "WHERE b.professional.id = :professionalId AND (:status IS NULL OR b.status = :status) " +
+           "AND (:beforeId IS NULL OR b.createdAt < :beforeCreatedAt " +
+           "     OR (b.createdAt = :beforeCreatedAt AND b.id < :beforeId)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findProfessionalPage(
+        @Param("professionalId") Long professionalId,
+        @Param("status") BookingStatus status,
+        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * A page of the professional's bookings matching the search, newest first, after the
+     * (createdAt, id) cursor. Null filters match everything. The professional's rows are
+     * read through idx_bookings_professional_created (or the status variant), so the text
+     * filters only ever look at one professional's bookings. The text filters are matched
+     * literally, so callers escape LIKE wildcards with a backslash.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.client c " +
+           "WHERE b.professional.id = :professionalId AND (:status IS NULL OR b.status = :status) " +
+           "AND (:clientName IS NULL OR LOWER(c.fullName) LIKE LOWER(CONCAT(:clientName, '%')) ESCAPE '\\') " +
+           "AND (:fromDate IS NULL OR b.bookingDate >= :fromDate) AND (:toDate IS NULL OR b.bookingDate <= :toDate) " +
+           "AND (:keyword IS NULL OR LOWER(b.serviceDetails) LIKE LOWER(CONCAT('%', :keyword, '%')) ESCAPE '\\') " +
+           "AND (:beforeId IS NULL OR b.createdAt < :beforeCreatedAt " +
+           "     OR (b.createdAt = :beforeCreatedAt AND b.id < :beforeId)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> searchProfessionalPage(
+        @Param("professionalId") Long professionalId,
+        @Param("status") BookingStatus status,
+        @Param("clientName") String clientName,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate,
+        @Param("keyword") String keyword,
+        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
+
+    /**
+     * Number of the client's bookings in each status, as [status, count]
+     */
+    @Query("SELECT b.status, COUNT(b) FROM Booking b WHERE b.client.id = :clientId GROUP BY b.status")
+    List<Object[]> countByStatusForClient(@Param("clientId") Long clientId);
+
+    /**
+     * Number of the professional's bookings in each status, as [status, count]
+     */
+    @Query("SELECT b.status, COUNT(b) FROM Booking b WHERE b.professional.id = :professionalId GROUP BY b.status")
+    List<Object[]> countByStatusForProfessional(@Param("professionalId") Long professionalId);
+}
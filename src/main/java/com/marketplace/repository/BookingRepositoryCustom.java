@@ -0,0 +1,18 @@
+package com.marketplace.repository;
+
+import com.marketplace.model.Booking;
+
+/**
+ * Booking writes that cannot be expressed as a JPA save.
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Inserts a new booking in one guarded INSERT ... SELECT that writes nothing if the
+     * professional already has a pending or confirmed booking overlapping its time on that
+     * date, whichever slot that booking came from. On success the generated id and initial
+     * version are set on {@code booking}; the row is not attached to the persistence context.
+     * @return true if the booking was inserted, false if it overlaps an active booking
+     */
+    boolean insertIfNoOverlap(Booking booking);
+}
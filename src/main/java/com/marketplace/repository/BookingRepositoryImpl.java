@@ -0,0 +1,76 @@
+package com.marketplace.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.Booking;
+
+/**
+ * The overlap guard rides on idx_bookings_professional_date (professional_id, booking_date,
+ * start_time), so it reads one professional's bookings for one day. On MySQL the NOT EXISTS
+ * read takes shared next-key locks on that range; two overlapping inserts racing on different
+ * slots deadlock and one is rolled back, rather than both getting in.
+ */
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String ACTIVE_STATUSES = BookingStatus.ACTIVE.stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+    private static final String GUARDED_INSERT_SQL =
+            "INSERT INTO bookings (client_id, professional_id, availability_id, series_id, service_details, " +
+            "booking_date, start_time, end_time, status, created_at, updated_at, version) " +
+            "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0 FROM dual " +
+            "WHERE NOT EXISTS (SELECT 1 FROM bookings b WHERE b.professional_id = ? AND b.booking_date = ? " +
+            "AND b.start_time < ? AND b.end_time > ? AND b.status IN (" + ACTIVE_STATUSES + "))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfNoOverlap(Booking booking) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(GUARDED_INSERT_SQL, new String[] {"id"});
+            ps.setLong(1, booking.getClient().getId());
+            ps.setLong(2, booking.getProfessional().getId());
+            if (booking.getAvailability() != null) {
+                ps.setLong(3, booking.getAvailability().getId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            if (booking.getSeries() != null) {
+                ps.setLong(4, booking.getSeries().getId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, booking.getServiceDetails());
+            ps.setObject(6, booking.getBookingDate());
+            ps.setObject(7, booking.getStartTime());
+            ps.setObject(8, booking.getEndTime());
+            ps.setString(9, booking.getStatus().name());
+            ps.setTimestamp(10, Timestamp.valueOf(booking.getCreatedAt()));
+            ps.setTimestamp(11, Timestamp.valueOf(booking.getUpdatedAt()));
+            ps.setLong(12, booking.getProfessional().getId());
+            ps.setObject(13, booking.getBookingDate());
+            ps.setObject(14, booking.getEndTime());
+            ps.setObject(15, booking.getStartTime());
+            return ps;
+        }, keyHolder);
+        if (inserted == 0) {
+            return false;
+        }
+        booking.setId(keyHolder.getKey().longValue());
+        booking.setVersion(0L);
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.marketplace.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.BookingSeries;
+import com.marketplace.model.User;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+
+    /**
+     * The client's series that still have an active booking on or after the given date
+     */
+    @Query("SELECT s FROM BookingSeries s JOIN FETCH s.professional p JOIN FETCH p.user " +
+           "WHERE s.client = :client AND s.cancelledAt IS NULL AND EXISTS (" +
+           "    SELECT 1 FROM Booking b WHERE b.series = s AND b.status IN :active AND b.bookingDate >= :fromDate) " +
+           "ORDER BY s.firstDate ASC, s.id ASC")
+    List<BookingSeries> findActiveByClient(
+        @Param("client") User client,
+        @Param("active") Collection<BookingStatus> active,
+        @Param("fromDate") LocalDate fromDate
+    );
+}
@@ -0,0 +1,14 @@
+package com.marketplace.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.BookingStatusHistory;
+
+@Repository
+public interface BookingStatusHistoryRepository extends JpaRepository<BookingStatusHistory, Long> {
+
+    List<BookingStatusHistory> findByBookingIdOrderByChangedAtAscIdAsc(Long bookingId);
+}
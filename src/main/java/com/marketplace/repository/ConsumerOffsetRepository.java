@@ -0,0 +1,56 @@
+package com.marketplace.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.ConsumerOffset;
+
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface ConsumerOffsetRepository extends JpaRepository<ConsumerOffset, String> {
+
+    /**
+     * Registers a consumer; fails with a duplicate key if another node got there first
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO outbox_consumer_offsets (consumer_name, last_event_id, updated_at) " +
+                   "VALUES (:name, :lastEventId, :now)", nativeQuery = true)
+    int register(
+        @Param("name") String consumerName,
+        @Param("lastEventId") Long lastEventId,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Moves a consumer's offset forward only if nobody else moved it since it was read
+     */
+    @Modifying
+    @Query("UPDATE ConsumerOffset o SET o.lastEventId = :to, o.updatedAt = :now " +
+           "WHERE o.consumerName = :name AND o.lastEventId = :from")
+    int advance(
+        @Param("name") String consumerName,
+        @Param("from") Long from,
+        @Param("to") Long to,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Reads an offset row and locks it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ConsumerOffset o WHERE o.consumerName = :name")
+    Optional<ConsumerOffset> findForUpdate(@Param("name") String consumerName);
+
+    @Query("SELECT MIN(o.lastEventId) FROM ConsumerOffset o")
+    Long findMinLastEventId();
+}
@@ -0,0 +1,58 @@
+package com.marketplace.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.ExternalBusyBlock;
+import com.marketplace.model.ProfessionalProfile;
+
+@Repository
+public interface ExternalBusyBlockRepository extends JpaRepository<ExternalBusyBlock, Long> {
+
+    /**
+     * Drops a professional's previous import in one statement before a new file is loaded
+     */
+    @Modifying
+    @Query("DELETE FROM ExternalBusyBlock x WHERE x.professional = :professional")
+    int deleteByProfessional(@Param("professional") ProfessionalProfile professional);
+
+    /**
+     * Busy intervals as [date, startTime, endTime], ordered by date then start time
+     */
+    @Query("SELECT x.date, x.startTime, x.endTime FROM ExternalBusyBlock x " +
+           "WHERE x.professional = :professional AND x.date >= :startDate AND x.date <= :endDate " +
+           "ORDER BY x.date ASC, x.startTime ASC")
+    List<Object[]> findIntervalsByProfessionalAndDateRange(
+        @Param("professional") ProfessionalProfile professional,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Busy intervals on a date as [professionalId, startTime, endTime], ordered by professional then start time
+     */
+    @Query("SELECT x.professional.id, x.startTime, x.endTime FROM ExternalBusyBlock x " +
+           "WHERE x.professional.id IN :professionalIds AND x.date = :date " +
+           "ORDER BY x.professional.id ASC, x.startTime ASC")
+    List<Object[]> findIntervalsByProfessionalsAndDate(
+        @Param("professionalIds") Collection<Long> professionalIds,
+        @Param("date") LocalDate date
+    );
+
+    @Query("SELECT COUNT(x) > 0 FROM ExternalBusyBlock x WHERE x.professional = :professional " +
+           "AND x.date = :date AND x.startTime < :endTime AND x.endTime > :startTime")
+    boolean existsOverlapping(
+        @Param("professional") ProfessionalProfile professional,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+}
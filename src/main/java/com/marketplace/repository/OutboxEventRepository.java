@@ -0,0 +1,48 @@
+package com.marketplace.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Next events after a consumer's offset, in delivery order. Only sequenced events are
+     * returned, and sequence numbers are handed out in commit order, so nothing committed
+     * later can appear below a consumer's offset.
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sequence > :afterSequence ORDER BY e.sequence")
+    List<OutboxEvent> findBatchAfter(@Param("afterSequence") Long afterSequence, Pageable pageable);
+
+    /**
+     * Committed events still waiting for a sequence number, oldest first
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.sequence IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnsequenced(Pageable pageable);
+
+    /**
+     * Numbers events from before sequencing by their id, so offsets stored as ids stay valid
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sequence = e.id WHERE e.sequence IS NULL")
+    int sequenceById();
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM OutboxEvent e")
+    Long findMaxSequence();
+
+    /**
+     * Drops events every consumer has moved past once they are older than the retention window
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sequence <= :deliveredUpTo AND e.createdAt < :cutoff")
+    int deleteDelivered(@Param("deliveredUpTo") Long deliveredUpTo, @Param("cutoff") LocalDateTime cutoff);
+}
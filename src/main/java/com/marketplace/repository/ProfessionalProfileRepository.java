@@ -1,20 +1,29 @@
 package com.marketplace.repository;
 
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.marketplace.enums.BookingStatus;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.User;
 
 @Repository
 public interface ProfessionalProfileRepository extends JpaRepository<ProfessionalProfile, Long> {
     Optional<ProfessionalProfile> findByUser(User user);
+    
+    @Query("SELECT p.id FROM ProfessionalProfile p WHERE p.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
     boolean existsByUser(User user);
     
     @Query("SELECT p FROM ProfessionalProfile p WHERE " +
@@ -27,5 +36,87 @@ public interface ProfessionalProfileRepository extends JpaRepository<Professiona
         @Param("minRating") Double minRating
     );
     
-    List<ProfessionalProfile> findByCategoryId(Long categoryId);
-}
\ No newline at end of file
+    @Query("SELECT p FROM ProfessionalProfile p WHERE p.category.id = :categoryId")
+    List<ProfessionalProfile> findByCategoryId(@Param("categoryId") Long categoryId);
+    
+    @Query("SELECT p FROM ProfessionalProfile p JOIN FETCH p.user JOIN FETCH p.category WHERE p.id IN :ids")
+    List<ProfessionalProfile> findAllWithUserAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Everything the professional dashboard shows, in one statement, as [profileId, averageRating,
+     * totalReviews, pending, confirmedToday, confirmedThisWeek, newReviews, bookedMinutes, offeredMinutes].
+     * Empty when the user has no profile. Minutes cover [weekStart, weekEnd].
+     */
+    @Query("SELECT p.id, p.averageRating, p.totalReviews, " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.professional.id = p.id AND b.status = :pending), " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.professional.id = p.id AND b.status = :confirmed " +
+           "    AND b.bookingDate = :today), " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.professional.id = p.id AND b.status = :confirmed " +
+           "    AND b.bookingDate BETWEEN :weekStart AND :weekEnd), " +
+           "(SELECT COUNT(r) FROM Review r WHERE r.professional.id = p.id AND r.deleted = false " +
+           "    AND r.createdAt >= :reviewsSince), " +
+           "(SELECT COALESCE(SUM(HOUR(b.endTime) * 60 + MINUTE(b.endTime) - HOUR(b.startTime) * 60 - MINUTE(b.startTime)), 0) " +
+           "    FROM Booking b WHERE b.professional.id = p.id AND b.status IN :busy " +
+           "    AND b.bookingDate BETWEEN :weekStart AND :weekEnd), " +
+           "(SELECT COALESCE(SUM(HOUR(a.endTime) * 60 + MINUTE(a.endTime) - HOUR(a.startTime) * 60 - MINUTE(a.startTime)), 0) " +
+           "    FROM Availability a WHERE a.professional.id = p.id AND a.calendarBlocked = false " +
+           "    AND a.date BETWEEN :weekStart AND :weekEnd) " +
+           "FROM ProfessionalProfile p WHERE p.user.id = :userId")
+    List<Object[]> findDashboardSummary(
+        @Param("userId") Long userId,
+        @Param("pending") BookingStatus pending,
+        @Param("confirmed") BookingStatus confirmed,
+        @Param("busy") Collection<BookingStatus> busy,
+        @Param("today") LocalDate today,
+        @Param("weekStart") LocalDate weekStart,
+        @Param("weekEnd") LocalDate weekEnd,
+        @Param("reviewsSince") LocalDateTime reviewsSince
+    );
+
+    /**
+     * Adds a review's rating and count to the profile's running totals and recomputes the
+     * average from them, in one statement so concurrent reviews cannot lose each other's
+     * update. The average is assigned first: MySQL evaluates SET left to right and would
+     * otherwise divide the already updated values. Profiles whose rating_sum was never
+     * backfilled (0 with reviews counted, which no real rating sum can be) are left alone
+     * until reconciliation repairs them, so their average is not divided by a sum of 0.
+     * @return 0 when the profile is still waiting for its backfill
+     */
+    @Modifying
+    @Query("UPDATE ProfessionalProfile p SET " +
+           "p.averageRating = CASE WHEN p.totalReviews + :countDelta > 0 " +
+           "    THEN CAST(p.ratingSum + :sumDelta AS Double) / (p.totalReviews + :countDelta) ELSE 0.0 END, " +
+           "p.ratingSum = p.ratingSum + :sumDelta, p.totalReviews = p.totalReviews + :countDelta " +
+           "WHERE p.id = :profileId AND (p.ratingSum > 0 OR p.totalReviews = 0)")
+    int applyRatingDelta(
+        @Param("profileId") Long profileId,
+        @Param("sumDelta") Long sumDelta,
+        @Param("countDelta") Integer countDelta
+    );
+
+    /**
+     * Same update as {@link #applyRatingDelta} without the backfill guard, for the
+     * reconciliation pass that corrects stored totals to the live reviews
+     */
+    @Modifying
+    @Query("UPDATE ProfessionalProfile p SET " +
+           "p.averageRating = CASE WHEN p.totalReviews + :countDelta > 0 " +
+           "    THEN CAST(p.ratingSum + :sumDelta AS Double) / (p.totalReviews + :countDelta) ELSE 0.0 END, " +
+           "p.ratingSum = p.ratingSum + :sumDelta, p.totalReviews = p.totalReviews + :countDelta " +
+           "WHERE p.id = :profileId")
+    int repairRatingTotals(
+        @Param("profileId") Long profileId,
+        @Param("sumDelta") Long sumDelta,
+        @Param("countDelta") Integer countDelta
+    );
+
+    /**
+     * The next profiles after the given id with their stored rating totals next to the totals
+     * of their live reviews, as [profileId, ratingSum, totalReviews, liveSum, liveCount]
+     */
+    @Query("SELECT p.id, p.ratingSum, p.totalReviews, " +
+           "(SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.professional.id = p.id AND r.deleted = false), " +
+           "(SELECT COUNT(r) FROM Review r WHERE r.professional.id = p.id AND r.deleted = false) " +
+           "FROM ProfessionalProfile p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findRatingTotalsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+}
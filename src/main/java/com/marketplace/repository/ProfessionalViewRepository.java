@@ -0,0 +1,10 @@
+package com.marketplace.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.ProfessionalView;
+
+@Repository
+public interface ProfessionalViewRepository extends JpaRepository<ProfessionalView, Long> {
+}
@@ -4,6 +4,7 @@ package com.marketplace.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -28,6 +29,16 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
            "ORDER BY r.createdAt DESC")
     List<Review> findByClientAndDeletedFalseOrderByCreatedAtDesc(@Param("client") User client);
 
+    /**
+     * Latest live reviews of a professional for the public page, as
+     * [clientFullName, clientUsername, rating, comment, createdAt, bookingDate]
+     */
+    @Query("SELECT c.fullName, c.username, r.rating, r.comment, r.createdAt, b.bookingDate " +
+           "FROM Review r JOIN r.client c JOIN r.booking b " +
+           "WHERE r.professional.id = :professionalId AND r.deleted = false " +
+           "ORDER BY r.createdAt DESC")
+    List<Object[]> findLatestSummaries(@Param("professionalId") Long professionalId, Pageable pageable);
+
     Optional<Review> findByIdAndDeletedFalse(Long id);
 
     Optional<Review> findByBookingAndDeletedFalse(Booking booking);
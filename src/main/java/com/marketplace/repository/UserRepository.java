@@ -12,4 +12,5 @@ public interface UserRepository  extends JpaRepository<User,Long>{
 	Optional<User> findByEmail(String email);
 	Boolean existsByUsername(String username);
 	Boolean existsByEmail(String email);
+	Optional<User> findByCalendarToken(String calendarToken);
 }
@@ -0,0 +1,61 @@
+package com.marketplace.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.Availability;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.User;
+import com.marketplace.model.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Head of a plain slot's queue
+     */
+    Optional<WaitlistEntry> findFirstByAvailabilityAndStartTimeIsNullOrderByIdAsc(Availability availability);
+
+    /**
+     * Head of the queue for one sub-slot of a working window
+     */
+    Optional<WaitlistEntry> findFirstByAvailabilityAndStartTimeOrderByIdAsc(Availability availability, LocalTime startTime);
+
+    /**
+     * Head of a professional's day queue
+     */
+    Optional<WaitlistEntry> findFirstByProfessionalAndDateAndAvailabilityIsNullOrderByIdAsc(
+        ProfessionalProfile professional, LocalDate date);
+
+    boolean existsByClientAndAvailabilityAndStartTimeIsNull(User client, Availability availability);
+
+    boolean existsByClientAndAvailabilityAndStartTime(User client, Availability availability, LocalTime startTime);
+
+    boolean existsByClientAndProfessionalAndDateAndAvailabilityIsNull(User client, ProfessionalProfile professional,
+                                                                     LocalDate date);
+
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.professional p JOIN FETCH p.user " +
+           "LEFT JOIN FETCH w.availability WHERE w.client = :client AND w.date >= :fromDate " +
+           "ORDER BY w.date ASC, w.id ASC")
+    List<WaitlistEntry> findUpcomingByClient(@Param("client") User client, @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Ids of entries for days before the given date, oldest first
+     */
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.date < :before ORDER BY w.date ASC, w.id ASC")
+    List<Long> findIdsBefore(@Param("before") LocalDate before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
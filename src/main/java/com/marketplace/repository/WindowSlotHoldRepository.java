@@ -0,0 +1,92 @@
+package com.marketplace.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.marketplace.model.WindowSlotHold;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface WindowSlotHoldRepository extends JpaRepository<WindowSlotHold, Long> {
+
+    /**
+     * Takes over the sub-slot's row if its hold has lapsed
+     * @return 0 when there is no row or its hold is still live
+     */
+    @Modifying
+    @Query(value = "UPDATE window_slot_holds SET end_time = :endTime, client_id = :clientId, " +
+                   "hold_token = :holdToken, held_until = :heldUntil " +
+                   "WHERE availability_id = :availabilityId AND start_time = :startTime AND held_until <= :now",
+           nativeQuery = true)
+    int takeOverExpired(
+        @Param("availabilityId") Long availabilityId,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime,
+        @Param("clientId") Long clientId,
+        @Param("holdToken") String holdToken,
+        @Param("heldUntil") LocalDateTime heldUntil,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Holds the sub-slot unless it already has a row; the unique key settles races between nodes
+     * @return 0 when another row got there first
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO window_slot_holds " +
+                   "(availability_id, start_time, end_time, professional_id, date, client_id, hold_token, held_until) " +
+                   "VALUES (:availabilityId, :startTime, :endTime, :professionalId, :date, :clientId, :holdToken, :heldUntil)",
+           nativeQuery = true)
+    int insertIfAbsent(
+        @Param("availabilityId") Long availabilityId,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime,
+        @Param("professionalId") Long professionalId,
+        @Param("date") LocalDate date,
+        @Param("clientId") Long clientId,
+        @Param("holdToken") String holdToken,
+        @Param("heldUntil") LocalDateTime heldUntil
+    );
+
+    Optional<WindowSlotHold> findByAvailabilityIdAndStartTime(Long availabilityId, LocalTime startTime);
+
+    Optional<WindowSlotHold> findByHoldToken(String holdToken);
+
+    /**
+     * Live holds on the sub-slots of the given windows
+     */
+    @Query("SELECT h FROM WindowSlotHold h WHERE h.availabilityId IN :availabilityIds AND h.heldUntil > :now")
+    List<WindowSlotHold> findLiveByAvailabilityIds(
+        @Param("availabilityIds") Collection<Long> availabilityIds,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Whether a live hold other than {@code holdToken} (which may be null) covers the sub-slot
+     */
+    @Query("SELECT COUNT(h) > 0 FROM WindowSlotHold h WHERE h.availabilityId = :availabilityId " +
+           "AND h.startTime = :startTime AND h.heldUntil > :now " +
+           "AND (:holdToken IS NULL OR h.holdToken <> :holdToken)")
+    boolean existsLiveHoldByOther(
+        @Param("availabilityId") Long availabilityId,
+        @Param("startTime") LocalTime startTime,
+        @Param("holdToken") String holdToken,
+        @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM WindowSlotHold h WHERE h.holdToken = :holdToken")
+    int deleteByHoldToken(@Param("holdToken") String holdToken);
+}
@@ -5,6 +5,7 @@ import java.time.LocalTime;
 import java.util.List;
 
 import com.marketplace.dto.AvailabilityDto;
+import com.marketplace.dto.SlotDto;
 import com.marketplace.model.Availability;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.User;
@@ -19,6 +20,7 @@ public interface AvailabilityService {
     List<Availability> getProfessionalAvailability(User user);
     List<Availability> getAvailabilityByDate(User user, LocalDate date);
     List<Availability> getAvailableSlots(User user, LocalDate startDate, LocalDate endDate);
+    List<SlotDto> getBookableSlots(ProfessionalProfile professional, LocalDate startDate, LocalDate endDate);
     
     // Update availability
     Availability updateAvailability(User user, Long availabilityId, AvailabilityDto availabilityDto);
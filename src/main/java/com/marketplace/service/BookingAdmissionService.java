@@ -0,0 +1,26 @@
+package com.marketplace.service;
+
+import java.time.LocalTime;
+import java.util.function.Supplier;
+
+public interface BookingAdmissionService {
+
+    /**
+     * Runs a booking attempt while holding the professional's stripe, so attempts on
+     * the same professional queue in-process instead of contending in the database.
+     * Fails fast with SlotNotAvailableException if the slot is already known to be
+     * taken. The attempt must commit before returning.
+     */
+    <T> T admit(Long professionalId, Long availabilityId, LocalTime startTime, Supplier<T> attempt);
+
+    /**
+     * Records a committed booking. {@code startTime} is the sub-slot of a working
+     * window, or null for a plain slot.
+     */
+    void markTaken(Long availabilityId, LocalTime startTime);
+
+    /**
+     * Forgets that a slot was taken once its booking is cancelled or rejected.
+     */
+    void markFree(Long availabilityId, LocalTime startTime);
+}
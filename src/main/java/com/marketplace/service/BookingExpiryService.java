@@ -0,0 +1,17 @@
+package com.marketplace.service;
+
+import java.time.LocalDateTime;
+
+public interface BookingExpiryService {
+
+    /**
+     * Schedules a pending booking to be expired once the professional's response
+     * deadline, counted from when it was created, has passed
+     */
+    void track(Long bookingId, LocalDateTime createdAt);
+
+    /**
+     * Expires every tracked booking whose deadline has passed; returns how many were cancelled
+     */
+    int expireDue();
+}
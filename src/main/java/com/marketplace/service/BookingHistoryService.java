@@ -0,0 +1,21 @@
+package com.marketplace.service;
+
+import java.util.List;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.BookingStatusHistory;
+
+public interface BookingHistoryService {
+
+    /**
+     * Records a status change made in the current transaction. In the default async mode
+     * the row is queued once the transaction commits and written in batches; in sync
+     * mode it is inserted in the transaction itself.
+     *
+     * @param fromStatus null when the booking was just created
+     * @param actorId the user who made the change, or null for system changes
+     */
+    void record(Long bookingId, BookingStatus fromStatus, BookingStatus toStatus, Long actorId);
+
+    List<BookingStatusHistory> getHistory(Long bookingId);
+}
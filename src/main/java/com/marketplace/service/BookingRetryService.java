@@ -0,0 +1,15 @@
+package com.marketplace.service;
+
+import java.util.function.Supplier;
+
+public interface BookingRetryService {
+
+    /**
+     * Runs a booking state transition, retrying it with jittered backoff when it loses
+     * an optimistic lock or deadlock to a concurrent change. Each attempt must open and
+     * commit its own transaction; inside an existing one the conflict is rethrown, since
+     * only the outer transaction can be retried. Gives up with a BookingException once
+     * the attempts configured under app.booking.retry are used up.
+     */
+    <T> T retry(String operation, Supplier<T> attempt);
+}
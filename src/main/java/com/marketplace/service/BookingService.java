@@ -1,23 +1,73 @@
 package com.marketplace.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.marketplace.dto.BookingDto;
+import com.marketplace.dto.BookingPage;
+import com.marketplace.dto.BookingSearch;
+import com.marketplace.dto.BookingSeriesResult;
+import com.marketplace.dto.BulkActionResult;
+import com.marketplace.dto.ChunkProgress;
 import com.marketplace.enums.BookingStatus;
 import com.marketplace.model.Booking;
+import com.marketplace.model.BookingSeries;
 import com.marketplace.model.User;
 
 public interface BookingService {
     
     // Create booking
     Booking createBooking(User client, BookingDto bookingDto);
+
+    /**
+     * Books the chosen plain slot and the professional's slots at the same time on the same
+     * weekday for the following weeks, {@code weeks} bookings in all, in one transaction.
+     * The slots are reserved with one batch of conditional updates; weeks whose slot is
+     * missing or taken are reported as skipped. Fails only if no week could be booked.
+     */
+    BookingSeriesResult createSeries(User client, BookingDto bookingDto, int weeks);
+
+    /**
+     * Cancels every booking of the series that has not started yet, with guarded set-based
+     * updates, and releases their slots in one statement. Bookings that could not be
+     * cancelled are reported, not thrown.
+     */
+    BulkActionResult cancelSeries(Long seriesId, User user);
+
+    /**
+     * The client's weekly series that still have upcoming active bookings, to cancel as a whole.
+     */
+    List<BookingSeries> getActiveSeries(User client);
     
     // Get bookings
     List<Booking> getClientBookings(User client);
     List<Booking> getProfessionalBookings(User professional);
     List<Booking> getClientBookingsByStatus(User client, BookingStatus status);
     List<Booking> getProfessionalBookingsByStatus(User professional, BookingStatus status);
+
+    /**
+     * A page of the user's bookings, newest first, optionally filtered by status. Pages are
+     * keyset-based: pass the previous page's next cursor, or nulls for the first page, so
+     * the cost of a page does not grow with the user's booking history.
+     */
+    BookingPage getClientBookingPage(User client, BookingStatus status,
+                                     LocalDateTime beforeCreatedAt, Long beforeId, int size);
+    BookingPage getProfessionalBookingPage(User professional, BookingStatus status,
+                                           LocalDateTime beforeCreatedAt, Long beforeId, int size);
+
+    /**
+     * Like {@link #getProfessionalBookingPage}, narrowed by client name prefix, status,
+     * booking date range and a keyword in the service details
+     */
+    BookingPage searchProfessionalBookings(User professional, BookingSearch search,
+                                           LocalDateTime beforeCreatedAt, Long beforeId, int size);
+
+    // Booking counts per status in one grouped query; statuses without bookings map to 0
+    Map<BookingStatus, Long> getClientStatusCounts(User client);
+    Map<BookingStatus, Long> getProfessionalStatusCounts(User professional);
     List<Booking> getBookingsByDateRange(User user, LocalDate startDate, LocalDate endDate, boolean isClient);
     
     // Update booking
@@ -41,4 +91,24 @@ public interface BookingService {
     Booking rejectBooking(Long bookingId, User professional);
     Booking markAsCompleted(Long bookingId, User professional);
     boolean canManageBooking(Long bookingId, User professional);
-}
\ No newline at end of file
+
+    /**
+     * Accepts, rejects or completes several of the professional's bookings at once with
+     * set-based updates guarded by owner and current status. Rejected slots are released
+     * in the same transaction. Ids that could not be changed are reported, not thrown.
+     */
+    BulkActionResult applyBulkStatus(List<Long> bookingIds, User professional, BookingStatus newStatus);
+
+    /**
+     * Cancels those of the given bookings that are still PENDING and were created before
+     * the cutoff, in one guarded update, and releases their slots to the waitlist or back
+     * to the calendar. Returns the ids that were actually expired.
+     */
+    List<Long> expirePendingBookings(Collection<Long> bookingIds, LocalDateTime createdBefore);
+
+    /**
+     * Completes the next chunk of CONFIRMED bookings after the given id that ended at or
+     * before the cutoff, with one guarded UPDATE. Returns null once nothing is left to scan.
+     */
+    ChunkProgress completeEndedBookings(Long afterId, LocalDateTime endedBefore, int chunkSize);
+}
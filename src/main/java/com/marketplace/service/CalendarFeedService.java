@@ -0,0 +1,28 @@
+package com.marketplace.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Optional;
+
+import com.marketplace.dto.CalendarFeedVersion;
+import com.marketplace.model.User;
+
+public interface CalendarFeedService {
+
+    Optional<User> findUserByFeedToken(String token);
+
+    /**
+     * Cheap version check used to answer conditional requests before the feed is built.
+     */
+    CalendarFeedVersion getFeedVersion(User user);
+
+    /**
+     * Streams the user's confirmed bookings as an iCalendar document.
+     */
+    void writeFeed(User user, Writer writer) throws IOException;
+
+    /**
+     * Issues a new feed token, invalidating any previously shared feed URL.
+     */
+    String regenerateFeedToken(User user);
+}
@@ -0,0 +1,22 @@
+package com.marketplace.service;
+
+import java.io.IOException;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.marketplace.dto.CalendarImportResult;
+import com.marketplace.model.User;
+
+public interface CalendarImportService {
+
+    /**
+     * Replaces the professional's imported busy time with the events in an .ics file
+     * and blocks any open availability slots that now clash with it.
+     */
+    CalendarImportResult importCalendar(User user, MultipartFile icsFile) throws IOException;
+
+    default boolean isValidCalendarFile(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return name != null && name.toLowerCase().endsWith(".ics");
+    }
+}
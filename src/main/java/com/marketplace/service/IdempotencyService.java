@@ -0,0 +1,16 @@
+package com.marketplace.service;
+
+import java.util.function.Supplier;
+
+import com.marketplace.dto.SubmissionOutcome;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code submission} once per user and key. Repeats within the TTL get the
+     * original outcome without running it again; a repeat that arrives while the
+     * original is still running waits for it. Failed outcomes are not kept, so a retry
+     * runs again. A missing key runs the submission as is.
+     */
+    SubmissionOutcome execute(Long userId, String idempotencyKey, Supplier<SubmissionOutcome> submission);
+}
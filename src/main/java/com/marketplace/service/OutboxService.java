@@ -0,0 +1,36 @@
+package com.marketplace.service;
+
+import java.util.Map;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.model.Review;
+
+public interface OutboxService {
+
+    /**
+     * Appends an event to the outbox. Must be called inside the transaction that makes the
+     * change, so the event is stored if and only if the change commits.
+     */
+    void publish(OutboxEventType eventType, Long aggregateId, Map<String, Object> payload);
+
+    /**
+     * @param fromStatus null when the booking was just created
+     * @param actorId the user who made the change, or null for system changes
+     */
+    void publishBookingStatusChange(Long bookingId, Long clientId, Long professionalId,
+                                    BookingStatus fromStatus, BookingStatus toStatus, Long actorId);
+
+    /**
+     * @param previousRating the rating before an update, otherwise null
+     */
+    void publishReviewEvent(OutboxEventType eventType, Review review, Integer previousRating);
+
+    /**
+     * Profile or availability edits; the payload only carries the professional ID
+     */
+    void publishProfessionalChange(OutboxEventType eventType, Long professionalId);
+
+    Map<String, Object> readPayload(OutboxEvent event);
+}
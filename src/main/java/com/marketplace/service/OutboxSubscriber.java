@@ -0,0 +1,37 @@
+package com.marketplace.service;
+
+import com.marketplace.model.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events. Delivery is at least once: an event may be
+ * handed over again after a crash or a failed offset write, so handlers must be
+ * idempotent.
+ */
+public interface OutboxSubscriber {
+
+    /**
+     * Stable name the consumer offset is stored under; renaming a subscriber starts it over
+     */
+    String getName();
+
+    /**
+     * Events the subscriber is not interested in are passed over without calling handle
+     */
+    default boolean accepts(OutboxEvent event) {
+        return true;
+    }
+
+    /**
+     * Handles one event. Throwing keeps the offset before this event, and it is retried on
+     * the next poll until app.outbox.max-attempts is reached.
+     */
+    void handle(OutboxEvent event);
+
+    /**
+     * Whether a subscriber seen for the first time starts from the oldest retained event
+     * rather than from events published after it was registered
+     */
+    default boolean replaysHistory() {
+        return false;
+    }
+}
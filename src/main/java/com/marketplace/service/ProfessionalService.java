@@ -1,12 +1,16 @@
 package com.marketplace.service;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.marketplace.dto.AvailabilityMatchDto;
+import com.marketplace.dto.ProfessionalDashboard;
 import com.marketplace.dto.ProfessionalProfileDto;
 import com.marketplace.model.Availability;
 import com.marketplace.model.ProfessionalProfile;
@@ -42,6 +46,12 @@ public interface ProfessionalService {
      */
     boolean hasProfile(User user);
     
+    /**
+     * Dashboard figures for the user's profile, read in a single query.
+     * Returns null when the user has no profile yet.
+     */
+    ProfessionalDashboard getDashboard(User user);
+    
     /**
      * Updates only the profile photo
      */
@@ -64,6 +74,14 @@ public interface ProfessionalService {
     Page<ProfessionalProfile> searchProfessionals(String category, String city, Double minRating, Pageable pageable);
     List<ProfessionalProfile> getTopRatedProfessionals(int limit);
     
+    /**
+     * Finds professionals with a free interval of at least durationMinutes inside [from, to) on the
+     * given date, ranked by how close the free interval starts to the requested time.
+     * A null duration asks for the whole window.
+     */
+    List<AvailabilityMatchDto> searchAvailableProfessionals(String category, String city, LocalDate date,
+                                                            LocalTime from, LocalTime to, Integer durationMinutes);
+    
     // Validation helpers
     default boolean isValidImageFile(MultipartFile file) {
         if (file == null || file.isEmpty()) return false;
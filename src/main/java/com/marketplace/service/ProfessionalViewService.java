@@ -0,0 +1,12 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProfessionalDetailDto;
+
+public interface ProfessionalViewService {
+
+    /**
+     * The public page of a professional, read from the professional_view row.
+     * A missing or outdated row is rebuilt first.
+     */
+    ProfessionalDetailDto getDetail(Long profileId);
+}
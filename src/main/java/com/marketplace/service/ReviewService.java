@@ -2,6 +2,7 @@ package com.marketplace.service;
 
 import java.util.List;
 
+import com.marketplace.dto.ChunkProgress;
 import com.marketplace.dto.ReviewDto;
 import com.marketplace.model.Booking;
 import com.marketplace.model.ProfessionalProfile;
@@ -33,6 +34,12 @@ public interface ReviewService {
     Double getAverageRating(ProfessionalProfile professional);
     Long getTotalReviews(ProfessionalProfile professional);
     List<Review> getRecentReviews(ProfessionalProfile professional);
+
+    /**
+     * Compares the stored rating totals of the next chunk of profiles after the given id with
+     * their live reviews and corrects any drift. Returns null once nothing is left to scan.
+     */
+    ChunkProgress reconcileRatings(Long afterProfileId, int chunkSize);
     
     // Get by ID with permission check
     Review getReviewByIdAndClient(Long id, User client);
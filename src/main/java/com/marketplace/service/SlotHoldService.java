@@ -0,0 +1,39 @@
+package com.marketplace.service;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.marketplace.dto.SlotHold;
+import com.marketplace.model.User;
+
+public interface SlotHoldService {
+
+    /**
+     * Reserves a slot for the client for a few minutes while they complete the booking.
+     * Returns the client's existing hold if they already hold the same slot.
+     */
+    SlotHold placeHold(User client, Long availabilityId, LocalTime startTime);
+
+    Optional<SlotHold> findHold(String token, User client);
+
+    void releaseHold(String token, User client);
+
+    /**
+     * Forgets a hold once it has been converted into a booking.
+     */
+    void completeHold(String token);
+
+    /**
+     * True if a sub-slot of a working window is held by someone other than {@code token}.
+     */
+    boolean isHeldByOther(Long availabilityId, LocalTime startTime, String token);
+
+    /**
+     * Unexpired holds on the sub-slots of the given working windows, by window id.
+     * Windows without holds are left out.
+     */
+    Map<Long, List<SlotHold>> getWindowHolds(Collection<Long> availabilityIds);
+}
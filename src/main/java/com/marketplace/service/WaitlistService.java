@@ -0,0 +1,40 @@
+package com.marketplace.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.marketplace.model.Booking;
+import com.marketplace.model.User;
+import com.marketplace.model.WaitlistEntry;
+
+public interface WaitlistService {
+
+    /**
+     * Queues the client for a taken slot; {@code startTime} selects the sub-slot of a working window.
+     */
+    WaitlistEntry joinSlot(User client, Long availabilityId, LocalTime startTime);
+
+    /**
+     * Queues the client for whichever of the professional's slots on {@code date} frees up first.
+     */
+    WaitlistEntry joinDay(User client, Long professionalId, LocalDate date);
+
+    void leave(Long entryId, User client);
+
+    List<WaitlistEntry> getUpcomingEntries(User client);
+
+    /**
+     * Gives the slot freed by {@code released} to the head of its slot queue, or else the
+     * head of the professional's day queue, as a new pending booking. Must run inside the
+     * transaction that released the slot. Returns the new booking, or null if nobody was
+     * promoted.
+     */
+    Booking promoteNext(Booking released);
+
+    /**
+     * Deletes up to {@code limit} entries for days before {@code before}, which can no longer be
+     * promoted. Returns how many were deleted.
+     */
+    int purgePastEntries(LocalDate before, int limit);
+}
@@ -1,9 +1,13 @@
 package com.marketplace.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,24 +15,45 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.marketplace.dto.AvailabilityDto;
+import com.marketplace.dto.SlotDto;
+import com.marketplace.dto.SlotHold;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
 import com.marketplace.model.Availability;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.User;
 import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
 import com.marketplace.repository.ProfessionalProfileRepository;
 import com.marketplace.service.AvailabilityService;
+import com.marketplace.service.OutboxService;
+import com.marketplace.service.SlotHoldService;
 import com.marketplace.util.Constants;
+import com.marketplace.util.SlotGenerator;
 
 @Service
 public class AvailabilityServiceImpl implements AvailabilityService {
     private static final Logger logger = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
     private final AvailabilityRepository availabilityRepository;
     private final ProfessionalProfileRepository profileRepository;
+    private final BookingRepository bookingRepository;
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final SlotHoldService slotHoldService;
+    private final OutboxService outboxService;
 
     public AvailabilityServiceImpl(AvailabilityRepository availabilityRepository,
-                                  ProfessionalProfileRepository profileRepository) {
+                                  ProfessionalProfileRepository profileRepository,
+                                  BookingRepository bookingRepository,
+                                  ExternalBusyBlockRepository busyBlockRepository,
+                                  SlotHoldService slotHoldService,
+                                  OutboxService outboxService) {
         this.availabilityRepository = availabilityRepository;
         this.profileRepository = profileRepository;
+        this.bookingRepository = bookingRepository;
+        this.busyBlockRepository = busyBlockRepository;
+        this.slotHoldService = slotHoldService;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -57,7 +82,9 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         }
 
         Availability availability = new Availability(profile, date, startTime, endTime);
+        applySlotSettings(availability, availabilityDto);
         Availability savedAvailability = availabilityRepository.save(availability);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED, profile.getId());
         logger.info("Availability created successfully with ID: {}", savedAvailability.getId());
         return savedAvailability;
     }
@@ -102,6 +129,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             // Check for overlapping slots - skip dates that have conflicts instead of failing
             if (!hasOverlappingSlots(profile, date, bulkStartTime, bulkEndTime)) {
                 Availability availability = new Availability(profile, date, bulkStartTime, bulkEndTime);
+                applySlotSettings(availability, availabilityDto);
                 createdAvailabilities.add(availability);
             } else {
                 logger.warn("Skipping date {} due to overlapping time slot", date);
@@ -113,6 +141,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         }
 
         List<Availability> savedAvailabilities = availabilityRepository.saveAll(createdAvailabilities);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED, profile.getId());
         logger.info("Bulk availability created successfully, count: {}", savedAvailabilities.size());
         return savedAvailabilities;
     }
@@ -141,6 +170,105 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return availabilityRepository.findAvailableSlotsByProfessionalAndDateRange(profile, startDate, endDate);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotDto> getBookableSlots(ProfessionalProfile professional, LocalDate startDate, LocalDate endDate) {
+        List<Availability> rows = availabilityRepository.findAvailableSlotsByProfessionalAndDateRange(
+            professional, startDate, endDate);
+        List<SlotDto> slots = new ArrayList<>(rows.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> windowIds = new ArrayList<>();
+        for (Availability row : rows) {
+            if (row.isWindow()) {
+                windowIds.add(row.getId());
+            }
+        }
+        boolean hasWindows = !windowIds.isEmpty();
+        // Plain slots clashing with imported calendar time are normally marked booked at import,
+        // but slots added afterwards still need filtering here
+        List<Object[]> busy = rows.isEmpty() ? Collections.emptyList()
+            : busyBlockRepository.findIntervalsByProfessionalAndDateRange(professional, startDate, endDate);
+        if (!hasWindows && busy.isEmpty()) {
+            for (Availability row : rows) {
+                // Slots held by another client's checkout are hidden until the hold lapses
+                if (!row.isHeldAt(now)) {
+                    slots.add(new SlotDto(row.getId(), row.getDate(), row.getStartTime(), row.getEndTime(), false));
+                }
+            }
+            return slots;
+        }
+
+        // All lists are ordered by date then start time, so a single merge pass
+        // collects each date's taken intervals into a reusable buffer
+        List<Object[]> occupied = hasWindows
+            ? bookingRepository.findOccupiedIntervalsByProfessionalAndDateRange(
+                professional, BookingStatus.ACTIVE, startDate, endDate)
+            : Collections.emptyList();
+        Map<Long, List<SlotHold>> windowHolds = slotHoldService.getWindowHolds(windowIds);
+        int[] buffer = new int[16];
+        int count = 0;
+        int cursor = 0;
+        int busyCursor = 0;
+        LocalDate bufferedDate = null;
+
+        for (Availability row : rows) {
+            if (!row.getDate().equals(bufferedDate)) {
+                bufferedDate = row.getDate();
+                count = 0;
+                while (cursor < occupied.size() && ((LocalDate) occupied.get(cursor)[0]).isBefore(bufferedDate)) {
+                    cursor++;
+                }
+                while (cursor < occupied.size() && ((LocalDate) occupied.get(cursor)[0]).equals(bufferedDate)) {
+                    buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                    Object[] interval = occupied.get(cursor++);
+                    buffer[2 * count] = SlotGenerator.toMinutes((LocalTime) interval[1]);
+                    buffer[2 * count + 1] = SlotGenerator.toMinutes((LocalTime) interval[2]);
+                    count++;
+                }
+                int bookedCount = count;
+                while (busyCursor < busy.size() && ((LocalDate) busy.get(busyCursor)[0]).isBefore(bufferedDate)) {
+                    busyCursor++;
+                }
+                while (busyCursor < busy.size() && ((LocalDate) busy.get(busyCursor)[0]).equals(bufferedDate)) {
+                    buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                    Object[] interval = busy.get(busyCursor++);
+                    buffer[2 * count] = SlotGenerator.toMinutes((LocalTime) interval[1]);
+                    buffer[2 * count + 1] = SlotGenerator.toEndMinutes((LocalTime) interval[2]);
+                    count++;
+                }
+                if (bookedCount > 0 && count > bookedCount) {
+                    SlotGenerator.sortIntervals(buffer, count);
+                }
+            }
+
+            if (!row.isWindow()) {
+                if (!row.isHeldAt(now) && !SlotGenerator.overlapsAny(buffer, count,
+                        SlotGenerator.toMinutes(row.getStartTime()), SlotGenerator.toMinutes(row.getEndTime()))) {
+                    slots.add(new SlotDto(row.getId(), row.getDate(), row.getStartTime(), row.getEndTime(), false));
+                }
+                continue;
+            }
+
+            // Held sub-slots join the date's taken intervals; windows never overlap, so they
+            // cannot hide anything in another window on the same date
+            List<SlotHold> holds = windowHolds.getOrDefault(row.getId(), List.of());
+            if (!holds.isEmpty()) {
+                for (SlotHold hold : holds) {
+                    buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                    buffer[2 * count] = SlotGenerator.toMinutes(hold.getStartTime());
+                    buffer[2 * count + 1] = SlotGenerator.toMinutes(hold.getEndTime());
+                    count++;
+                }
+                SlotGenerator.sortIntervals(buffer, count);
+            }
+
+            int notBefore = row.getDate().equals(now.toLocalDate()) ? SlotGenerator.toMinutes(now.toLocalTime()) + 1 : -1;
+            SlotGenerator.expand(row, buffer, count, notBefore, slots);
+        }
+        return slots;
+    }
+
     @Override
     @Transactional
     public Availability updateAvailability(User user, Long availabilityId, AvailabilityDto availabilityDto) {
@@ -155,6 +283,9 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         availability.setDate(availabilityDto.getDate());
         availability.setStartTime(availabilityDto.getStartTime());
         availability.setEndTime(availabilityDto.getEndTime());
+        applySlotSettings(availability, availabilityDto);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED,
+            availability.getProfessional().getId());
         return availabilityRepository.save(availability);
     }
 
@@ -167,8 +298,14 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         if (availability.isBooked()) {
             throw new RuntimeException("Cannot delete a booked availability slot");
         }
+        if (availability.isWindow() && 
+            bookingRepository.existsByAvailabilityIdAndStatusIn(availabilityId, BookingStatus.ACTIVE)) {
+            throw new RuntimeException("Cannot delete a working window that has active bookings");
+        }
 
         availabilityRepository.delete(availability);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED,
+            availability.getProfessional().getId());
         logger.info("Availability deleted successfully with ID: {}", availabilityId);
     }
 
@@ -178,7 +315,11 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         ProfessionalProfile profile = profileRepository.findByUser(user)
             .orElseThrow(() -> new RuntimeException(Constants.PROFILE_NOT_FOUND));
         List<Availability> availabilities = availabilityRepository.findByProfessionalAndDateAndIsBookedFalse(profile, date);
+        // Windows stay unbooked while their sub-slots are taken, keep those with active bookings
+        availabilities.removeIf(slot -> slot.isWindow() && 
+            bookingRepository.existsByAvailabilityIdAndStatusIn(slot.getId(), BookingStatus.ACTIVE));
         availabilityRepository.deleteAll(availabilities);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED, profile.getId());
         logger.info("Deleted {} availabilities for date: {}", availabilities.size(), date);
     }
 
@@ -202,6 +343,31 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         return false;
     }
 
+    // Turns the slot into a working window when a slot duration is given
+    private void applySlotSettings(Availability availability, AvailabilityDto availabilityDto) {
+        Integer duration = availabilityDto.getSlotDurationMinutes();
+        Integer buffer = availabilityDto.getBufferMinutes();
+
+        if (duration == null || duration <= 0) {
+            availability.setSlotDurationMinutes(null);
+            availability.setBufferMinutes(null);
+            return;
+        }
+        if (duration < SlotGenerator.MIN_SLOT_MINUTES) {
+            throw new IllegalArgumentException("Slot length must be at least " + SlotGenerator.MIN_SLOT_MINUTES + " minutes");
+        }
+        if (buffer != null && buffer < 0) {
+            throw new IllegalArgumentException("Buffer cannot be negative");
+        }
+        long windowMinutes = Duration.between(availability.getStartTime(), availability.getEndTime()).toMinutes();
+        if (duration > windowMinutes) {
+            throw new IllegalArgumentException("Slot length cannot be longer than the working window");
+        }
+
+        availability.setSlotDurationMinutes(duration);
+        availability.setBufferMinutes(buffer != null ? buffer : 0);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Availability getAvailabilityById(Long id) {
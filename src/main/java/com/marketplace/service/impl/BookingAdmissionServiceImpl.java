@@ -0,0 +1,168 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.marketplace.exception.BookingException;
+import com.marketplace.exception.SlotNotAvailableException;
+import com.marketplace.service.BookingAdmissionService;
+import com.marketplace.util.SlotGenerator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-process admission for booking attempts. Attempts on the same professional take
+ * the same fair lock stripe, so a burst on one popular professional queues here
+ * rather than as transactions fighting over the same rows, and anyone still queued
+ * after the slot went is turned away without touching the database. The conditional
+ * reserve UPDATE remains the source of truth; this only cuts wasted transactions.
+ */
+@Service
+public class BookingAdmissionServiceImpl implements BookingAdmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingAdmissionServiceImpl.class);
+    private static final int PLAIN_SLOT = -1;
+    private static final int MAX_TAKEN_ENTRIES = 50_000;
+
+    private record SlotKey(Long availabilityId, int startMinute) {
+    }
+
+    private final ReentrantLock[] stripes;
+    private final long waitMillis;
+    private final long takenTtlNanos;
+    // Recently booked slots -> expiry; other nodes and admin edits can free slots
+    // without telling us, so entries only live for a short TTL
+    private final Map<SlotKey, Long> knownTaken = new ConcurrentHashMap<>();
+
+    private final Counter admitted;
+    private final Counter rejectedTaken;
+    private final Counter rejectedTimeout;
+    private final Timer waitTimer;
+
+    public BookingAdmissionServiceImpl(MeterRegistry meterRegistry,
+                                       @Value("${app.booking.admission.stripes:64}") int stripeCount,
+                                       @Value("${app.booking.admission.wait-millis:5000}") long waitMillis,
+                                       @Value("${app.booking.admission.taken-ttl-seconds:60}") long takenTtlSeconds) {
+        int size = Integer.highestOneBit(Math.max(2, stripeCount) - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.waitMillis = waitMillis;
+        this.takenTtlNanos = TimeUnit.SECONDS.toNanos(takenTtlSeconds);
+
+        this.admitted = Counter.builder("booking.admission")
+                .tag("outcome", "admitted").register(meterRegistry);
+        this.rejectedTaken = Counter.builder("booking.admission")
+                .tag("outcome", "known_taken").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("booking.admission")
+                .tag("outcome", "timeout").register(meterRegistry);
+        this.waitTimer = Timer.builder("booking.admission.wait")
+                .description("Time booking attempts spend queued behind the same professional")
+                .register(meterRegistry);
+        Gauge.builder("booking.admission.queued", this, BookingAdmissionServiceImpl::queuedAttempts)
+                .description("Booking attempts currently waiting for a professional's stripe")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T admit(Long professionalId, Long availabilityId, LocalTime startTime, Supplier<T> attempt) {
+        if (isKnownTaken(availabilityId, startTime)) {
+            rejectedTaken.increment();
+            throw new SlotNotAvailableException("This time slot is no longer available");
+        }
+
+        ReentrantLock stripe = stripeFor(professionalId);
+        long queuedAt = System.nanoTime();
+        boolean locked;
+        try {
+            locked = stripe.tryLock(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Booking was interrupted. Please try again.");
+        }
+        waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+        if (!locked) {
+            rejectedTimeout.increment();
+            logger.warn("Booking admission timed out for professional ID: {}", professionalId);
+            throw new BookingException("Many people are booking with this professional right now. Please try again.");
+        }
+
+        try {
+            // Whoever held the stripe before us may have just taken this slot
+            if (isKnownTaken(availabilityId, startTime)) {
+                rejectedTaken.increment();
+                throw new SlotNotAvailableException("This time slot is no longer available");
+            }
+            admitted.increment();
+            return attempt.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public void markTaken(Long availabilityId, LocalTime startTime) {
+        if (knownTaken.size() >= MAX_TAKEN_ENTRIES) {
+            long now = System.nanoTime();
+            knownTaken.values().removeIf(expiresAt -> expiresAt - now <= 0);
+            if (knownTaken.size() >= MAX_TAKEN_ENTRIES) {
+                return;
+            }
+        }
+        knownTaken.put(key(availabilityId, startTime), System.nanoTime() + takenTtlNanos);
+    }
+
+    @Override
+    public void markFree(Long availabilityId, LocalTime startTime) {
+        knownTaken.remove(key(availabilityId, startTime));
+    }
+
+    // Plain slots are recorded without a start time; requests may still carry one
+    private boolean isKnownTaken(Long availabilityId, LocalTime startTime) {
+        return isFresh(key(availabilityId, null))
+                || (startTime != null && isFresh(key(availabilityId, startTime)));
+    }
+
+    private boolean isFresh(SlotKey key) {
+        Long expiresAt = knownTaken.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() > 0) {
+            return true;
+        }
+        knownTaken.remove(key, expiresAt);
+        return false;
+    }
+
+    private static SlotKey key(Long availabilityId, LocalTime startTime) {
+        return new SlotKey(availabilityId, startTime != null ? SlotGenerator.toMinutes(startTime) : PLAIN_SLOT);
+    }
+
+    private ReentrantLock stripeFor(Long professionalId) {
+        int hash = professionalId != null ? Long.hashCode(professionalId) : 0;
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private double queuedAttempts() {
+        int queued = 0;
+        for (ReentrantLock stripe : stripes) {
+            queued += stripe.getQueueLength();
+        }
+        return queued;
+    }
+}
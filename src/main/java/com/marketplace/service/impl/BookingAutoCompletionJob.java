@@ -0,0 +1,52 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.marketplace.dto.ChunkProgress;
+import com.marketplace.service.BookingService;
+
+/**
+ * Marks CONFIRMED bookings COMPLETED once they ended a configurable time ago, so clients
+ * can review them without waiting for the professional. Walks the bookings in id order
+ * a chunk at a time, each chunk its own short transaction with a single UPDATE; the
+ * status changes go through the outbox like any other, for review invitations.
+ */
+@Component
+public class BookingAutoCompletionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingAutoCompletionJob.class);
+
+    private final BookingService bookingService;
+    private final long graceMinutes;
+    private final int chunkSize;
+
+    public BookingAutoCompletionJob(BookingService bookingService,
+                                    @Value("${app.booking.auto-complete.grace-minutes:120}") long graceMinutes,
+                                    @Value("${app.booking.auto-complete.chunk-size:500}") int chunkSize) {
+        this.bookingService = bookingService;
+        this.graceMinutes = graceMinutes;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.auto-complete.interval-millis:300000}",
+               initialDelayString = "${app.booking.auto-complete.interval-millis:300000}")
+    public void completeEndedBookings() {
+        LocalDateTime endedBefore = LocalDateTime.now().minusMinutes(graceMinutes);
+        long afterId = 0L;
+        int completed = 0;
+        ChunkProgress progress;
+        while ((progress = bookingService.completeEndedBookings(afterId, endedBefore, chunkSize)) != null) {
+            completed += progress.getProcessed();
+            afterId = progress.getLastId();
+        }
+        if (completed > 0) {
+            logger.info("Auto-completed {} bookings that ended before {}", completed, endedBefore);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.marketplace.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.service.BookingExpiryService;
+import com.marketplace.service.BookingService;
+import com.marketplace.service.OutboxSubscriber;
+
+/**
+ * Expires PENDING bookings the professional never answered. Deadlines sit in a
+ * time-ordered in-memory queue, seeded from the database at startup and fed by
+ * BOOKING_CREATED outbox events, so each check only looks at the head of the queue.
+ * Due bookings are cancelled a batch at a time by one guarded UPDATE; entries whose
+ * booking was answered in the meantime simply do not match it. The queue is re-seeded
+ * periodically to pick up bookings whose events were relayed by another node.
+ */
+@Service
+public class BookingExpiryServiceImpl implements BookingExpiryService, OutboxSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExpiryServiceImpl.class);
+
+    private record Deadline(LocalDateTime expiresAt, Long bookingId) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            return expiresAt.compareTo(other.expiresAt);
+        }
+    }
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final Duration responseWindow;
+    private final int batchSize;
+
+    private final PriorityBlockingQueue<Deadline> deadlines = new PriorityBlockingQueue<>();
+    // Bookings already in the queue, so re-seeding and redelivered events do not add duplicates
+    private final Set<Long> tracked = ConcurrentHashMap.newKeySet();
+
+    public BookingExpiryServiceImpl(BookingService bookingService,
+                                    BookingRepository bookingRepository,
+                                    @Value("${app.booking.expiry.response-hours:48}") long responseHours,
+                                    @Value("${app.booking.expiry.batch-size:200}") int batchSize) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.responseWindow = Duration.ofHours(responseHours);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAtStartup() {
+        seed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.expiry.reseed-millis:3600000}",
+               initialDelayString = "${app.booking.expiry.reseed-millis:3600000}")
+    public void seed() {
+        int added = 0;
+        for (Object[] row : bookingRepository.findIdsAndCreatedAtByStatus(BookingStatus.PENDING)) {
+            if (add((Long) row[0], (LocalDateTime) row[1])) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            logger.info("Tracking {} more pending bookings for expiry ({} in total)", added, tracked.size());
+        }
+    }
+
+    @Override
+    public void track(Long bookingId, LocalDateTime createdAt) {
+        add(bookingId, createdAt);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.booking.expiry.check-millis:60000}")
+    public int expireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdBefore = now.minus(responseWindow);
+        int expired = 0;
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Deadline head;
+            while (batch.size() < batchSize && (head = deadlines.peek()) != null && !head.expiresAt().isAfter(now)) {
+                Deadline due = deadlines.poll();
+                if (due != null) {
+                    batch.add(due.bookingId());
+                }
+            }
+            if (batch.isEmpty()) {
+                return expired;
+            }
+            try {
+                expired += bookingService.expirePendingBookings(batch, createdBefore).size();
+                tracked.removeAll(batch);
+            } catch (RuntimeException e) {
+                // Leave them tracked and try again on the next check
+                logger.error("Failed to expire {} pending bookings", batch.size(), e);
+                for (Long bookingId : batch) {
+                    deadlines.add(new Deadline(now, bookingId));
+                }
+                return expired;
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "pending-booking-expiry";
+    }
+
+    @Override
+    public boolean accepts(OutboxEvent event) {
+        return event.getEventType() == OutboxEventType.BOOKING_CREATED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        add(event.getAggregateId(), event.getCreatedAt());
+    }
+
+    private boolean add(Long bookingId, LocalDateTime createdAt) {
+        if (!tracked.add(bookingId)) {
+            return false;
+        }
+        deadlines.add(new Deadline(createdAt.plus(responseWindow), bookingId));
+        return true;
+    }
+}
@@ -0,0 +1,179 @@
+package com.marketplace.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.BookingStatusHistory;
+import com.marketplace.repository.BookingStatusHistoryRepository;
+import com.marketplace.service.BookingHistoryService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Status history writer. In async mode (the default) a booking transaction only pays
+ * for an in-memory enqueue after commit; one background thread drains the queue and
+ * inserts whatever has accumulated in a single JDBC batch. Rows still queued when the
+ * process dies are lost, so deployments that need every change on record run with
+ * app.booking.history.mode=sync, which inserts in the booking transaction instead.
+ */
+@Service
+public class BookingHistoryServiceImpl implements BookingHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingHistoryServiceImpl.class);
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO booking_status_history (booking_id, from_status, to_status, actor_id, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final BookingStatusHistoryRepository historyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean synchronous;
+
+    private final BlockingQueue<BookingStatusHistory> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private Thread writer;
+    private volatile boolean running = true;
+
+    public BookingHistoryServiceImpl(BookingStatusHistoryRepository historyRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     @Value("${app.booking.history.mode:async}") String mode) {
+        this.historyRepository = historyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.synchronous = "sync".equalsIgnoreCase(mode);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!synchronous) {
+            writer = new Thread(this::drainLoop, "booking-history-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            // Whatever the writer did not get to
+            flushRemaining();
+        }
+    }
+
+    @Override
+    public void record(Long bookingId, BookingStatus fromStatus, BookingStatus toStatus, Long actorId) {
+        BookingStatusHistory entry = new BookingStatusHistory(bookingId, fromStatus, toStatus, actorId, LocalDateTime.now());
+        if (synchronous) {
+            historyRepository.save(entry);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        // Only committed changes make it into the history
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingStatusHistory> getHistory(Long bookingId) {
+        return historyRepository.findByBookingIdOrderByChangedAtAscIdAsc(bookingId);
+    }
+
+    private void enqueue(BookingStatusHistory entry) {
+        if (!queue.offer(entry)) {
+            // Writer has fallen behind; write this one on the caller rather than drop it
+            logger.warn("Booking history queue full, writing entry for booking ID: {} inline", entry.getBookingId());
+            insertBatch(List.of(entry));
+        }
+    }
+
+    private void drainLoop() {
+        List<BookingStatusHistory> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            // Everything that queued up while the previous batch was being written goes in one round trip
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            writeQuietly(batch);
+            batch.clear();
+        }
+    }
+
+    private void flushRemaining() {
+        List<BookingStatusHistory> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            writeQuietly(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeQuietly(List<BookingStatusHistory> batch) {
+        try {
+            insertBatch(batch);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} booking history entries", batch.size(), e);
+        }
+    }
+
+    private void insertBatch(List<BookingStatusHistory> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BookingStatusHistory entry = batch.get(i);
+                ps.setLong(1, entry.getBookingId());
+                if (entry.getFromStatus() != null) {
+                    ps.setString(2, entry.getFromStatus().name());
+                } else {
+                    ps.setNull(2, Types.VARCHAR);
+                }
+                ps.setString(3, entry.getToStatus().name());
+                if (entry.getActorId() != null) {
+                    ps.setLong(4, entry.getActorId());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setTimestamp(5, Timestamp.valueOf(entry.getChangedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+}
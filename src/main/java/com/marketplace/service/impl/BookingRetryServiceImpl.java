@@ -0,0 +1,97 @@
+package com.marketplace.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.marketplace.exception.BookingException;
+import com.marketplace.service.BookingRetryService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retries booking transitions that lost a version check or a deadlock. Sleeps are
+ * full-jitter exponential: a random time below min(max-backoff, backoff * 2^retry),
+ * so two requests that collided once do not wake up together and collide again.
+ */
+@Service
+public class BookingRetryServiceImpl implements BookingRetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingRetryServiceImpl.class);
+
+    private record Meters(Counter conflicts, Counter retries, Counter exhausted) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    // One set of counters per operation, registered on first use
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public BookingRetryServiceImpl(MeterRegistry meterRegistry,
+                                   @Value("${app.booking.retry.max-attempts:4}") int maxAttempts,
+                                   @Value("${app.booking.retry.backoff-millis:10}") long backoffMillis,
+                                   @Value("${app.booking.retry.max-backoff-millis:200}") long maxBackoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = Math.max(1, backoffMillis);
+        this.maxBackoffMillis = Math.max(this.backoffMillis, maxBackoffMillis);
+    }
+
+    @Override
+    public <T> T retry(String operation, Supplier<T> attempt) {
+        Meters metrics = metersFor(operation);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (ConcurrencyFailureException e) {
+                metrics.conflicts().increment();
+                if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                    // The caller's transaction is already marked for rollback
+                    throw e;
+                }
+                if (attemptNumber >= maxAttempts) {
+                    metrics.exhausted().increment();
+                    logger.warn("Booking {} still conflicting after {} attempts", operation, attemptNumber);
+                    throw new BookingException("This booking was just changed by someone else. Please reload and try again.");
+                }
+                metrics.retries().increment();
+                logger.debug("Booking {} conflicted on attempt {}, retrying", operation, attemptNumber);
+                sleep(attemptNumber);
+            }
+        }
+    }
+
+    private void sleep(int attemptNumber) {
+        long ceiling = Math.min(maxBackoffMillis, backoffMillis << Math.min(attemptNumber - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingException("Booking was interrupted. Please try again.");
+        }
+    }
+
+    private Meters metersFor(String operation) {
+        return meters.computeIfAbsent(operation, key -> new Meters(
+                Counter.builder("booking.transition.conflicts")
+                        .description("Booking transitions that lost a version check or deadlock")
+                        .tag("operation", key).register(meterRegistry),
+                Counter.builder("booking.transition.retries")
+                        .description("Booking transitions retried after a conflict")
+                        .tag("operation", key).register(meterRegistry),
+                Counter.builder("booking.transition.exhausted")
+                        .description("Booking transitions that gave up after the last retry")
+                        .tag("operation", key).register(meterRegistry)));
+    }
+}
@@ -2,14 +2,35 @@ package com.marketplace.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.marketplace.dto.BookingDto;
+import com.marketplace.dto.BookingPage;
+import com.marketplace.dto.BookingSearch;
+import com.marketplace.dto.BookingSeriesResult;
+import com.marketplace.dto.BulkActionResult;
+import com.marketplace.dto.ChunkProgress;
 import com.marketplace.enums.BookingStatus;
 import com.marketplace.exception.AvailabilityNotFoundException;
 import com.marketplace.exception.BookingException;
@@ -19,37 +40,77 @@ import com.marketplace.exception.UnauthorizedAccessException;
 import com.marketplace.exception.UsernameTakenException;
 import com.marketplace.model.Availability;
 import com.marketplace.model.Booking;
+import com.marketplace.model.BookingSeries;
 import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.User;
 import com.marketplace.repository.AvailabilityRepository;
 import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.BookingSeriesRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
 import com.marketplace.repository.ProfessionalProfileRepository;
 import com.marketplace.repository.UserRepository;
+import com.marketplace.service.BookingAdmissionService;
+import com.marketplace.service.BookingHistoryService;
+import com.marketplace.service.BookingRetryService;
 import com.marketplace.service.BookingService;
+import com.marketplace.service.OutboxService;
+import com.marketplace.service.SlotHoldService;
+import com.marketplace.service.WaitlistService;
 import com.marketplace.util.Constants;
+import com.marketplace.util.SlotGenerator;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingServiceImpl.class);
+    private static final int MAX_BULK_BOOKINGS = 200;
+    private static final int MAX_SERIES_WEEKS = 12;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String OVERLAPPING_BOOKING = "The professional already has a booking at this time";
 
     private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository seriesRepository;
     private final UserRepository userRepository;
     private final ProfessionalProfileRepository profileRepository;
     private final AvailabilityRepository availabilityRepository;
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final SlotHoldService slotHoldService;
+    private final BookingAdmissionService bookingAdmission;
+    private final WaitlistService waitlistService;
+    private final BookingHistoryService historyService;
+    private final OutboxService outboxService;
+    private final BookingRetryService retryService;
+    private final TransactionTemplate transactionTemplate;
 
     public BookingServiceImpl(BookingRepository bookingRepository,
+                            BookingSeriesRepository seriesRepository,
                             UserRepository userRepository,
                             ProfessionalProfileRepository profileRepository,
-                            AvailabilityRepository availabilityRepository) {
+                            AvailabilityRepository availabilityRepository,
+                            ExternalBusyBlockRepository busyBlockRepository,
+                            SlotHoldService slotHoldService,
+                            BookingAdmissionService bookingAdmission,
+                            WaitlistService waitlistService,
+                            BookingHistoryService historyService,
+                            OutboxService outboxService,
+                            BookingRetryService retryService,
+                            PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
+        this.seriesRepository = seriesRepository;
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
         this.availabilityRepository = availabilityRepository;
+        this.busyBlockRepository = busyBlockRepository;
+        this.slotHoldService = slotHoldService;
+        this.bookingAdmission = bookingAdmission;
+        this.waitlistService = waitlistService;
+        this.historyService = historyService;
+        this.outboxService = outboxService;
+        this.retryService = retryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional
     public Booking createBooking(User client, BookingDto bookingDto) {
         logger.info("Creating booking for client ID: {}", client.getId());
 
@@ -61,34 +122,200 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingException("Availability ID is required");
         }
 
-        // Get professional
-        ProfessionalProfile professional = profileRepository.findById(bookingDto.getProfessionalId())
-                .orElseThrow(() -> new ProfessionalNotFoundException("Professional not found"));
+        // Queue behind other attempts on the same professional before opening the
+        // transaction, and hold the stripe until the booking has committed
+        return bookingAdmission.admit(bookingDto.getProfessionalId(), bookingDto.getAvailabilityId(),
+                bookingDto.getStartTime(), () -> transactionTemplate.execute(status -> reserveAndSave(client, bookingDto)));
+    }
 
-        // Get availability slot
-        Availability availability = availabilityRepository.findById(bookingDto.getAvailabilityId())
+    private Booking reserveAndSave(User client, BookingDto bookingDto) {
+        // One round trip loads the slot, its professional and the professional's user;
+        // everything below validates in memory until the reserve UPDATE and the guarded INSERT
+        Availability availability = availabilityRepository.findByIdWithProfessionalAndUser(bookingDto.getAvailabilityId())
                 .orElseThrow(() -> new AvailabilityNotFoundException("Availability slot not found"));
+        ProfessionalProfile professional = availability.getProfessional();
+        if (!professional.getId().equals(bookingDto.getProfessionalId())) {
+            throw new BookingException("This availability slot does not belong to the selected professional");
+        }
 
         // Validate business rules
         validateBookingRules(client, professional, availability);
 
-        // Atomically reserve the slot
-        if (!reserveSlot(availability.getId())) {
+        if (availability.isWindow()) {
+            return createWindowBooking(client, professional, availability, bookingDto);
+        }
+
+        // Atomically reserve the slot, honouring checkout holds and imported calendar busy time
+        if (!reserveSlot(availability.getId(), bookingDto.getHoldToken())) {
             throw new SlotNotAvailableException("This time slot is no longer available");
         }
 
+        // Create booking, unless another slot of this professional overlapping this one is
+        // already booked; the exception rolls the reservation back
+        Booking booking = new Booking(client, professional, availability, bookingDto.getServiceDetails());
+        boolean inserted;
         try {
-            // Create booking
-            Booking booking = new Booking(client, professional, availability, bookingDto.getServiceDetails());
-            Booking savedBooking = bookingRepository.save(booking);
-
-            logger.info("Booking created successfully with ID: {}", savedBooking.getId());
-            return savedBooking;
+            inserted = bookingRepository.insertIfNoOverlap(booking);
         } catch (Exception e) {
             // Rollback slot reservation if booking creation fails
             releaseSlot(availability.getId());
             throw new BookingException("Failed to create booking", e);
         }
+        if (!inserted) {
+            throw new SlotNotAvailableException(OVERLAPPING_BOOKING);
+        }
+        statusChanged(booking, null, booking.getStatus(), client.getId());
+        afterCommit(() -> {
+            slotHoldService.completeHold(bookingDto.getHoldToken());
+            bookingAdmission.markTaken(availability.getId(), null);
+        });
+
+        logger.info("Booking created successfully with ID: {}", booking.getId());
+        return booking;
+    }
+
+    private Booking createWindowBooking(User client, ProfessionalProfile professional,
+                                        Availability window, BookingDto bookingDto) {
+        if (bookingDto.getStartTime() == null) {
+            throw new BookingException("Start time is required for this availability");
+        }
+
+        LocalTime endTime = SlotGenerator.slotEndFor(window, bookingDto.getStartTime());
+        if (endTime == null) {
+            throw new BookingException("Selected time does not match the professional's slot schedule");
+        }
+        if (!LocalDateTime.of(window.getDate(), bookingDto.getStartTime()).isAfter(LocalDateTime.now())) {
+            throw new BookingException("Cannot book past time slots");
+        }
+
+        // Serialize sub-slot bookings on the same window; the guarded INSERT checks for overlaps
+        availabilityRepository.findByIdForUpdate(window.getId())
+                .orElseThrow(() -> new AvailabilityNotFoundException("Availability slot not found"));
+        if (busyBlockRepository.existsOverlapping(professional, window.getDate(), bookingDto.getStartTime(), endTime)) {
+            throw new SlotNotAvailableException("The professional is busy at this time");
+        }
+        if (slotHoldService.isHeldByOther(window.getId(), bookingDto.getStartTime(), bookingDto.getHoldToken())) {
+            throw new SlotNotAvailableException("Someone else is booking this time slot. Please choose another.");
+        }
+
+        Booking booking = new Booking(client, professional, window, bookingDto.getStartTime(), endTime,
+                bookingDto.getServiceDetails());
+        if (!bookingRepository.insertIfNoOverlap(booking)) {
+            throw new SlotNotAvailableException("This time slot is no longer available");
+        }
+        statusChanged(booking, null, booking.getStatus(), client.getId());
+        afterCommit(() -> {
+            slotHoldService.completeHold(bookingDto.getHoldToken());
+            bookingAdmission.markTaken(window.getId(), bookingDto.getStartTime());
+        });
+
+        logger.info("Booking created successfully with ID: {} in window {}", booking.getId(), window.getId());
+        return booking;
+    }
+
+    @Override
+    public BookingSeriesResult createSeries(User client, BookingDto bookingDto, int weeks) {
+        logger.info("Creating {}-week booking series for client ID: {}", weeks, client.getId());
+
+        if (bookingDto.getProfessionalId() == null) {
+            throw new BookingException("Professional ID is required");
+        }
+        if (bookingDto.getAvailabilityId() == null) {
+            throw new BookingException("Availability ID is required");
+        }
+        if (weeks < 2 || weeks > MAX_SERIES_WEEKS) {
+            throw new BookingException("A weekly series runs for 2 to " + MAX_SERIES_WEEKS + " weeks");
+        }
+
+        // Same stripe as single bookings with this professional, so they do not interleave
+        return bookingAdmission.admit(bookingDto.getProfessionalId(), bookingDto.getAvailabilityId(), null,
+                () -> transactionTemplate.execute(status -> reserveSeries(client, bookingDto, weeks)));
+    }
+
+    private BookingSeriesResult reserveSeries(User client, BookingDto bookingDto, int weeks) {
+        Availability first = availabilityRepository.findByIdWithProfessionalAndUser(bookingDto.getAvailabilityId())
+                .orElseThrow(() -> new AvailabilityNotFoundException("Availability slot not found"));
+        ProfessionalProfile professional = first.getProfessional();
+        if (!professional.getId().equals(bookingDto.getProfessionalId())) {
+            throw new BookingException("This availability slot does not belong to the selected professional");
+        }
+        if (first.isWindow()) {
+            throw new BookingException("Weekly series can only be booked on fixed time slots");
+        }
+        validateBookingRules(client, professional, first);
+
+        List<LocalDate> dates = new ArrayList<>(weeks);
+        for (int week = 0; week < weeks; week++) {
+            dates.add(first.getDate().plusWeeks(week));
+        }
+        Map<LocalDate, Availability> slotsByDate = new HashMap<>();
+        for (Availability slot : availabilityRepository.findPlainSlotsAt(professional.getId(), dates,
+                first.getStartTime(), first.getEndTime())) {
+            slotsByDate.put(slot.getDate(), slot);
+        }
+
+        BookingSeriesResult result = new BookingSeriesResult();
+        List<Availability> candidates = new ArrayList<>(weeks);
+        List<Long> candidateIds = new ArrayList<>(weeks);
+        for (LocalDate date : dates) {
+            Availability slot = slotsByDate.get(date);
+            if (slot == null) {
+                result.skip(date, "The professional has no slot at this time");
+            } else if (slot.isBooked()) {
+                result.skip(date, "This time slot is already booked");
+            } else {
+                candidates.add(slot);
+                candidateIds.add(slot.getId());
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new SlotNotAvailableException("None of the weekly time slots are available");
+        }
+
+        // One batch of conditional reserves; each either takes its slot or leaves it alone
+        int[] reserved = availabilityRepository.markAllAsBookedIfAvailable(candidateIds, bookingDto.getHoldToken(),
+                LocalDateTime.now());
+        BookingSeries series = seriesRepository.save(new BookingSeries(client, professional, first.getDate(),
+                first.getStartTime(), first.getEndTime(), weeks));
+        List<Long> overlapping = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Availability slot = candidates.get(i);
+            if (reserved[i] == 0) {
+                result.skip(slot.getDate(), "This time slot is no longer available");
+                continue;
+            }
+            Booking booking = new Booking(client, professional, slot, bookingDto.getServiceDetails());
+            booking.setSeries(series);
+            if (!bookingRepository.insertIfNoOverlap(booking)) {
+                overlapping.add(slot.getId());
+                result.skip(slot.getDate(), OVERLAPPING_BOOKING);
+                continue;
+            }
+            statusChanged(booking, null, booking.getStatus(), client.getId());
+            result.getBooked().add(booking);
+        }
+        if (!overlapping.isEmpty()) {
+            availabilityRepository.releaseSlots(overlapping);
+        }
+        if (result.getBooked().isEmpty()) {
+            // Rolls back the series row and anything reserved
+            throw new SlotNotAvailableException("None of the weekly time slots are available");
+        }
+
+        List<Long> bookedSlotIds = new ArrayList<>(result.getBooked().size());
+        for (Booking booking : result.getBooked()) {
+            bookedSlotIds.add(booking.getAvailability().getId());
+        }
+        afterCommit(() -> {
+            slotHoldService.completeHold(bookingDto.getHoldToken());
+            for (Long slotId : bookedSlotIds) {
+                bookingAdmission.markTaken(slotId, null);
+            }
+        });
+        result.setSeries(series);
+        logger.info("Booking series ID: {} created with {} of {} weeks booked",
+                    series.getId(), result.getBooked().size(), weeks);
+        return result;
     }
 
     private void validateBookingRules(User client, ProfessionalProfile professional, Availability availability) {
@@ -114,12 +341,49 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Transactional
-    private boolean reserveSlot(Long availabilityId) {
+    private boolean reserveSlot(Long availabilityId, String holdToken) {
         // Use atomic query to ensure thread safety
-        int rowsUpdated = availabilityRepository.markAsBookedIfAvailable(availabilityId);
+        int rowsUpdated = availabilityRepository.markAsBookedIfAvailable(availabilityId, holdToken, LocalDateTime.now());
         return rowsUpdated > 0;
     }
 
+    // Runs the action once the surrounding transaction commits, or immediately without one
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+
+    // Every status change goes to the history and, in the same transaction, to the outbox
+    private void statusChanged(Booking booking, BookingStatus fromStatus, BookingStatus toStatus, Long actorId) {
+        statusChanged(booking.getId(), booking.getClient().getId(), booking.getProfessional().getId(),
+                fromStatus, toStatus, actorId);
+    }
+
+    private void statusChanged(Long bookingId, Long clientId, Long professionalId,
+                               BookingStatus fromStatus, BookingStatus toStatus, Long actorId) {
+        historyService.record(bookingId, fromStatus, toStatus, actorId);
+        outboxService.publishBookingStatusChange(bookingId, clientId, professionalId, fromStatus, toStatus, actorId);
+    }
+
+    // Hands a released slot to the head of its waitlist in the releasing transaction;
+    // if nobody takes it, admission stops turning clients away from it after commit
+    private void promoteFromWaitlist(Booking released) {
+        Availability availability = released.getAvailability();
+        Long availabilityId = availability.getId();
+        LocalTime startTime = availability.isWindow() ? released.getStartTime() : null;
+        if (waitlistService.promoteNext(released) == null) {
+            afterCommit(() -> bookingAdmission.markFree(availabilityId, startTime));
+        }
+    }
 
     @Transactional
     private void releaseSlot(Long availabilityId) {
@@ -201,7 +465,107 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public BookingPage getClientBookingPage(User client, BookingStatus status,
+                                            LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        if (client == null) {
+            throw new BookingException("Client cannot be null");
+        }
+        return toPage(bookingRepository.findClientPage(client.getId(), status, beforeCreatedAt,
+                cursorId(beforeCreatedAt, beforeId), PageRequest.of(0, pageSize(size) + 1)), pageSize(size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPage getProfessionalBookingPage(User user, BookingStatus status,
+                                                  LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        if (user == null) {
+            throw new BookingException("User cannot be null");
+        }
+        Long professionalId = profileRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND));
+        return toPage(bookingRepository.findProfessionalPage(professionalId, status, beforeCreatedAt,
+                cursorId(beforeCreatedAt, beforeId), PageRequest.of(0, pageSize(size) + 1)), pageSize(size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPage searchProfessionalBookings(User user, BookingSearch search,
+                                                  LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        if (user == null) {
+            throw new BookingException("User cannot be null");
+        }
+        if (search.getFromDate() != null && search.getToDate() != null && search.getFromDate().isAfter(search.getToDate())) {
+            throw new BookingException("Start date cannot be after end date");
+        }
+        Long professionalId = profileRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND));
+        return toPage(bookingRepository.searchProfessionalPage(professionalId, search.getStatus(),
+                escapeLike(blankToNull(search.getClientName())), search.getFromDate(), search.getToDate(),
+                escapeLike(blankToNull(search.getKeyword())), beforeCreatedAt, cursorId(beforeCreatedAt, beforeId),
+                PageRequest.of(0, pageSize(size) + 1)), pageSize(size));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    // Makes %, _ and the escape character itself match literally in a LIKE ... ESCAPE '\' pattern
+    private static String escapeLike(String value) {
+        return value == null ? null : value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<BookingStatus, Long> getClientStatusCounts(User client) {
+        if (client == null) {
+            throw new BookingException("Client cannot be null");
+        }
+        return toStatusCounts(bookingRepository.countByStatusForClient(client.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<BookingStatus, Long> getProfessionalStatusCounts(User user) {
+        if (user == null) {
+            throw new BookingException("User cannot be null");
+        }
+        Long professionalId = profileRepository.findIdByUserId(user.getId())
+                .orElseThrow(() -> new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND));
+        return toStatusCounts(bookingRepository.countByStatusForProfessional(professionalId));
+    }
+
+    private static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    // A half-given cursor means the first page
+    private static Long cursorId(LocalDateTime beforeCreatedAt, Long beforeId) {
+        return beforeCreatedAt != null ? beforeId : null;
+    }
+
+    // The query reads one row past the page, which only tells us whether another page exists
+    private static BookingPage toPage(List<Booking> rows, int size) {
+        if (rows.size() <= size) {
+            return new BookingPage(rows, null, null);
+        }
+        List<Booking> bookings = new ArrayList<>(rows.subList(0, size));
+        Booking last = bookings.get(size - 1);
+        return new BookingPage(bookings, last.getCreatedAt(), last.getId());
+    }
+
+    private static Map<BookingStatus, Long> toStatusCounts(List<Object[]> rows) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put((BookingStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
     public Booking updateBookingStatus(Long bookingId, User user, BookingStatus status) {
         if (bookingId == null) {
             throw new BookingException("Booking ID cannot be null");
@@ -209,7 +573,10 @@ public class BookingServiceImpl implements BookingService {
         if (status == null) {
             throw new BookingException("Status cannot be null");
         }
-        
+        return transition("status", () -> changeStatus(bookingId, user, status));
+    }
+
+    private Booking changeStatus(Long bookingId, User user, BookingStatus status) {
         Booking booking = getBookingByIdAndUser(bookingId, user);
         
         // Validate status transition
@@ -218,23 +585,40 @@ public class BookingServiceImpl implements BookingService {
         }
         
         // If cancelling, atomically free up the availability slot
-        if (status == BookingStatus.CANCELLED && booking.getStatus() != BookingStatus.CANCELLED) {
-            if (booking.getAvailability() != null) {
-                int rowsUpdated = availabilityRepository.releaseSlot(booking.getAvailability().getId());
-                if (rowsUpdated == 0) {
-                    logger.warn("Failed to release slot {} for booking {}", 
-                               booking.getAvailability().getId(), bookingId);
-                }
+        boolean releasing = status == BookingStatus.CANCELLED && booking.getStatus() != BookingStatus.CANCELLED
+                && booking.getAvailability() != null;
+        BookingStatus previousStatus = booking.getStatus();
+        Booking savedBooking = claimTransition(booking, status);
+        if (releasing) {
+            int rowsUpdated = availabilityRepository.releaseSlot(booking.getAvailability().getId());
+            if (rowsUpdated == 0) {
+                logger.warn("Failed to release slot {} for booking {}", 
+                           booking.getAvailability().getId(), bookingId);
             }
         }
         
-        booking.setStatus(status);
-        Booking savedBooking = bookingRepository.save(booking);
+        statusChanged(savedBooking, previousStatus, status, user.getId());
+        if (releasing) {
+            promoteFromWaitlist(savedBooking);
+        }
         
         logger.info("Booking status updated to {} for booking ID: {}", status, bookingId);
         return savedBooking;
     }
 
+    // Flushes the new status right away, before the slot is touched. The UPDATE checks the
+    // version we read, so of two concurrent changes to one booking exactly one goes through;
+    // the loser rolls back without releasing the slot and is retried against the fresh row
+    private Booking claimTransition(Booking booking, BookingStatus newStatus) {
+        booking.setStatus(newStatus);
+        return bookingRepository.saveAndFlush(booking);
+    }
+
+    // Each attempt runs in its own transaction, so a conflict can be retried from a clean read
+    private <T> T transition(String operation, Supplier<T> body) {
+        return retryService.retry(operation, () -> transactionTemplate.execute(status -> body.get()));
+    }
+
     private boolean isValidStatusTransition(BookingStatus currentStatus, BookingStatus newStatus) {
         // Define valid transitions based on your business rules
         switch (currentStatus) {
@@ -252,12 +636,14 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional
     public Booking updateBookingDetails(Long bookingId, User user, String serviceDetails) {
         if (bookingId == null) {
             throw new BookingException("Booking ID cannot be null");
         }
-        
+        return transition("details", () -> changeDetails(bookingId, user, serviceDetails));
+    }
+
+    private Booking changeDetails(Long bookingId, User user, String serviceDetails) {
         Booking booking = getBookingByIdAndUser(bookingId, user);
         
         // Only allow updates for pending or confirmed bookings
@@ -270,12 +656,14 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional
     public void cancelBooking(Long bookingId, User user) {
         if (bookingId == null) {
             throw new BookingException("Booking ID cannot be null");
         }
-        
+        transition("cancel", () -> cancel(bookingId, user));
+    }
+
+    private Booking cancel(Long bookingId, User user) {
         Booking booking = getBookingByIdAndUser(bookingId, user);
         
         // Check if booking can be cancelled
@@ -285,6 +673,13 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() == BookingStatus.COMPLETED) {
             throw new BookingException("Cannot cancel completed booking");
         }
+        if (booking.getStatus() == BookingStatus.REJECTED) {
+            // Its slot was released on rejection and may belong to someone else by now
+            throw new BookingException("Cannot cancel rejected booking");
+        }
+        
+        BookingStatus previousStatus = booking.getStatus();
+        claimTransition(booking, BookingStatus.CANCELLED);
         
         // Atomically free up the availability slot
         if (booking.getAvailability() != null) {
@@ -295,10 +690,13 @@ public class BookingServiceImpl implements BookingService {
             }
         }
         
-        booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        statusChanged(booking, previousStatus, BookingStatus.CANCELLED, user.getId());
+        if (booking.getAvailability() != null) {
+            promoteFromWaitlist(booking);
+        }
         
         logger.info("Booking cancelled successfully with ID: {}", bookingId);
+        return booking;
     }
 
     @Override
@@ -359,8 +757,11 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional
     public Booking acceptBooking(Long bookingId, User professionalUser) {
+        return transition("accept", () -> accept(bookingId, professionalUser));
+    }
+
+    private Booking accept(Long bookingId, User professionalUser) {
         Booking booking = getBookingById(bookingId);
         
         // Verify professional owns this booking
@@ -373,13 +774,17 @@ public class BookingServiceImpl implements BookingService {
             throw new UsernameTakenException("Booking is not in pending status");
         }
         
-        booking.setStatus(BookingStatus.CONFIRMED);
-        return bookingRepository.save(booking);
+        Booking savedBooking = claimTransition(booking, BookingStatus.CONFIRMED);
+        statusChanged(savedBooking, BookingStatus.PENDING, BookingStatus.CONFIRMED, professionalUser.getId());
+        return savedBooking;
     }
 
     @Override
-    @Transactional
     public Booking rejectBooking(Long bookingId, User professionalUser) {
+        return transition("reject", () -> reject(bookingId, professionalUser));
+    }
+
+    private Booking reject(Long bookingId, User professionalUser) {
         Booking booking = getBookingById(bookingId);
         
         // Verify professional owns this booking
@@ -392,20 +797,25 @@ public class BookingServiceImpl implements BookingService {
             throw new UsernameTakenException("Booking is not in pending status");
         }
         
-        booking.setStatus(BookingStatus.REJECTED);
+        Booking savedBooking = claimTransition(booking, BookingStatus.REJECTED);
+        statusChanged(savedBooking, BookingStatus.PENDING, BookingStatus.REJECTED, professionalUser.getId());
         
-        // Free up the availability slot
+        // Atomically free up the availability slot, so the waitlist promotion's
+        // conditional reserve sees it
         if (booking.getAvailability() != null) {
-            booking.getAvailability().setBooked(false);
-            availabilityRepository.save(booking.getAvailability());
+            availabilityRepository.releaseSlot(booking.getAvailability().getId());
+            promoteFromWaitlist(savedBooking);
         }
         
-        return bookingRepository.save(booking);
+        return savedBooking;
     }
 
     @Override
-    @Transactional
     public Booking markAsCompleted(Long bookingId, User professionalUser) {
+        return transition("complete", () -> complete(bookingId, professionalUser));
+    }
+
+    private Booking complete(Long bookingId, User professionalUser) {
         Booking booking = getBookingById(bookingId);
         
         // Verify professional owns this booking
@@ -418,8 +828,9 @@ public class BookingServiceImpl implements BookingService {
             throw new UsernameTakenException("Booking must be confirmed to mark as completed");
         }
         
-        booking.setStatus(BookingStatus.COMPLETED);
-        return bookingRepository.save(booking);
+        Booking savedBooking = claimTransition(booking, BookingStatus.COMPLETED);
+        statusChanged(savedBooking, BookingStatus.CONFIRMED, BookingStatus.COMPLETED, professionalUser.getId());
+        return savedBooking;
     }
 
     @Override
@@ -432,4 +843,239 @@ public class BookingServiceImpl implements BookingService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public BulkActionResult applyBulkStatus(List<Long> bookingIds, User professionalUser, BookingStatus newStatus) {
+        BookingStatus requiredStatus = bulkSourceStatus(newStatus);
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new BookingException("Please select at least one booking");
+        }
+        if (bookingIds.size() > MAX_BULK_BOOKINGS) {
+            throw new BookingException("You can update at most " + MAX_BULK_BOOKINGS + " bookings at once");
+        }
+        Long professionalId = profileRepository.findIdByUserId(professionalUser.getId())
+                .orElseThrow(() -> new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND));
+
+        // One read settles ownership and current status for every id
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        Map<Long, BookingStatus> currentStatuses = new HashMap<>();
+        Map<Long, Long> clientIds = new HashMap<>();
+        for (Object[] row : bookingRepository.findStatusesByIdsAndProfessional(ids, professionalId)) {
+            currentStatuses.put((Long) row[0], (BookingStatus) row[1]);
+            clientIds.put((Long) row[0], (Long) row[2]);
+        }
+
+        BulkActionResult result = new BulkActionResult();
+        List<Long> eligible = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookingStatus status = currentStatuses.get(id);
+            if (status == null) {
+                result.skip(id, "Booking not found");
+            } else if (status != requiredStatus) {
+                result.skip(id, "Booking is " + status.name().toLowerCase());
+            } else {
+                eligible.add(id);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return result;
+        }
+
+        LocalDateTime now = updateStamp();
+        int updated = bookingRepository.updateStatusIfCurrent(eligible, professionalId, requiredStatus, newStatus, now);
+        if (updated == eligible.size()) {
+            result.getApplied().addAll(eligible);
+        } else {
+            // Some rows changed between the read and the update; report which ones we actually moved
+            Set<Long> moved = new HashSet<>(bookingRepository.findIdsByIdInAndStatusAndUpdatedAt(eligible, newStatus, now));
+            for (Long id : eligible) {
+                if (moved.contains(id)) {
+                    result.getApplied().add(id);
+                } else {
+                    result.skip(id, "Booking was changed by someone else");
+                }
+            }
+        }
+
+        for (Long id : result.getApplied()) {
+            statusChanged(id, clientIds.get(id), professionalId, requiredStatus, newStatus, professionalUser.getId());
+        }
+        if (newStatus == BookingStatus.REJECTED && !result.getApplied().isEmpty()) {
+            releaseSlots(bookingRepository.findAllWithAvailabilityByIdIn(result.getApplied()));
+        }
+
+        logger.info("Bulk {} for professional ID: {}: {} applied, {} skipped", newStatus, professionalId,
+                    result.getApplied().size(), result.getSkipped().size());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> expirePendingBookings(Collection<Long> bookingIds, LocalDateTime createdBefore) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            return List.of();
+        }
+        List<Booking> candidates = new ArrayList<>();
+        for (Booking booking : bookingRepository.findAllWithAvailabilityByIdIn(bookingIds)) {
+            if (booking.getStatus() == BookingStatus.PENDING && !booking.getCreatedAt().isAfter(createdBefore)) {
+                candidates.add(booking);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> candidateIds = new ArrayList<>(candidates.size());
+        for (Booking booking : candidates) {
+            candidateIds.add(booking.getId());
+        }
+        LocalDateTime now = updateStamp();
+        int updated = bookingRepository.cancelPendingCreatedBefore(candidateIds, createdBefore, now);
+        List<Booking> expired = candidates;
+        if (updated != candidates.size()) {
+            // The professional answered, or the client cancelled, some of them between the read and the update
+            Set<Long> cancelled = new HashSet<>(bookingRepository.findIdsByIdInAndStatusAndUpdatedAt(candidateIds,
+                    BookingStatus.CANCELLED, now));
+            expired = new ArrayList<>(cancelled.size());
+            for (Booking booking : candidates) {
+                if (cancelled.contains(booking.getId())) {
+                    expired.add(booking);
+                }
+            }
+        }
+
+        List<Long> expiredIds = new ArrayList<>(expired.size());
+        for (Booking booking : expired) {
+            statusChanged(booking, BookingStatus.PENDING, BookingStatus.CANCELLED, null);
+            expiredIds.add(booking.getId());
+        }
+        releaseSlots(expired);
+
+        logger.info("Expired {} pending bookings past their response deadline", expiredIds.size());
+        return expiredIds;
+    }
+
+    @Override
+    @Transactional
+    public ChunkProgress completeEndedBookings(Long afterId, LocalDateTime endedBefore, int chunkSize) {
+        List<Object[]> rows = bookingRepository.findEndedAfterId(BookingStatus.CONFIRMED, afterId,
+                endedBefore.toLocalDate(), endedBefore.toLocalTime(), PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+
+        LocalDateTime now = updateStamp();
+        int updated = bookingRepository.transitionStatus(ids, BookingStatus.CONFIRMED, BookingStatus.COMPLETED, now);
+        // Anything cancelled or completed elsewhere between the scan and the update was left alone
+        Set<Long> completed = updated == ids.size() ? new HashSet<>(ids)
+                : new HashSet<>(bookingRepository.findIdsByIdInAndStatusAndUpdatedAt(ids, BookingStatus.COMPLETED, now));
+        for (Object[] row : rows) {
+            if (completed.contains((Long) row[0])) {
+                statusChanged((Long) row[0], (Long) row[1], (Long) row[2],
+                        BookingStatus.CONFIRMED, BookingStatus.COMPLETED, null);
+            }
+        }
+        return new ChunkProgress(ids.get(ids.size() - 1), completed.size());
+    }
+
+    @Override
+    public BulkActionResult cancelSeries(Long seriesId, User user) {
+        if (seriesId == null) {
+            throw new BookingException("Series ID cannot be null");
+        }
+        return transition("cancel-series", () -> cancelSeriesBookings(seriesId, user));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingSeries> getActiveSeries(User client) {
+        return seriesRepository.findActiveByClient(client, BookingStatus.ACTIVE, LocalDate.now());
+    }
+
+    private BulkActionResult cancelSeriesBookings(Long seriesId, User user) {
+        BookingSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new BookingException("Booking series not found"));
+        if (!series.getClient().getId().equals(user.getId())
+                && !series.getProfessional().getUser().getId().equals(user.getId())) {
+            throw new UnauthorizedAccessException("Access denied to booking series");
+        }
+        List<Booking> bookings = bookingRepository.findAllWithAvailabilityBySeriesId(seriesId);
+
+        LocalDateTime now = updateStamp();
+        BulkActionResult result = new BulkActionResult();
+        Map<BookingStatus, List<Long>> idsByStatus = new EnumMap<>(BookingStatus.class);
+        Map<Long, Booking> byId = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (!booking.getStatus().isActive()) {
+                result.skip(booking.getId(), "Booking is " + booking.getStatus().name().toLowerCase());
+            } else if (!LocalDateTime.of(booking.getBookingDate(), booking.getStartTime()).isAfter(now)) {
+                result.skip(booking.getId(), "Booking has already started");
+            } else {
+                idsByStatus.computeIfAbsent(booking.getStatus(), key -> new ArrayList<>()).add(booking.getId());
+                byId.put(booking.getId(), booking);
+            }
+        }
+
+        // One guarded UPDATE per current status, so the history records where each booking came from
+        List<Booking> cancelled = new ArrayList<>();
+        for (Map.Entry<BookingStatus, List<Long>> group : idsByStatus.entrySet()) {
+            List<Long> ids = group.getValue();
+            int updated = bookingRepository.transitionStatus(ids, group.getKey(), BookingStatus.CANCELLED, now);
+            Set<Long> moved = updated == ids.size() ? new HashSet<>(ids)
+                    : new HashSet<>(bookingRepository.findIdsByIdInAndStatusAndUpdatedAt(ids, BookingStatus.CANCELLED, now));
+            for (Long id : ids) {
+                if (moved.contains(id)) {
+                    result.getApplied().add(id);
+                    cancelled.add(byId.get(id));
+                    statusChanged(byId.get(id), group.getKey(), BookingStatus.CANCELLED, user.getId());
+                } else {
+                    result.skip(id, "Booking was changed by someone else");
+                }
+            }
+        }
+        releaseSlots(cancelled);
+        series.setCancelledAt(now);
+
+        logger.info("Cancelled {} bookings of series ID: {}, {} skipped", result.getApplied().size(), seriesId,
+                    result.getSkipped().size());
+        return result;
+    }
+
+    // updated_at for a guarded status UPDATE, at the column's microsecond precision so the rows it moved can be found by it
+    private static LocalDateTime updateStamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static BookingStatus bulkSourceStatus(BookingStatus newStatus) {
+        if (newStatus == BookingStatus.CONFIRMED || newStatus == BookingStatus.REJECTED) {
+            return BookingStatus.PENDING;
+        }
+        if (newStatus == BookingStatus.COMPLETED) {
+            return BookingStatus.CONFIRMED;
+        }
+        throw new BookingException("Unsupported bulk action");
+    }
+
+    // One UPDATE frees every plain slot, then each released time goes to its waitlist
+    private void releaseSlots(List<Booking> released) {
+        List<Long> plainSlotIds = new ArrayList<>(released.size());
+        for (Booking booking : released) {
+            if (booking.getAvailability() != null && !booking.getAvailability().isWindow()) {
+                plainSlotIds.add(booking.getAvailability().getId());
+            }
+        }
+        if (!plainSlotIds.isEmpty()) {
+            availabilityRepository.releaseSlots(plainSlotIds);
+        }
+        for (Booking booking : released) {
+            if (booking.getAvailability() != null) {
+                promoteFromWaitlist(booking);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+import com.marketplace.config.WebSocketConfig;
+import com.marketplace.dto.BookingStatusMessage;
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.service.OutboxService;
+import com.marketplace.service.OutboxSubscriber;
+
+/**
+ * Pushes booking status changes from the outbox to the client and the professional
+ * over WebSocket, so their booking pages update without reloading the list.
+ */
+@Component
+public class BookingUpdatesSubscriber implements OutboxSubscriber {
+
+    // A live update this late is no longer worth pushing; the next page load shows it
+    private static final long STALE_AFTER_MINUTES = 5;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
+
+    public BookingUpdatesSubscriber(SimpMessagingTemplate messagingTemplate,
+                                    SimpUserRegistry userRegistry,
+                                    BookingRepository bookingRepository,
+                                    OutboxService outboxService) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.bookingRepository = bookingRepository;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public String getName() {
+        return "booking-live-updates";
+    }
+
+    @Override
+    public boolean accepts(OutboxEvent event) {
+        return (event.getEventType() == OutboxEventType.BOOKING_CREATED
+                || event.getEventType() == OutboxEventType.BOOKING_STATUS_CHANGED)
+                && event.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(STALE_AFTER_MINUTES))
+                // Nobody is listening, so there is nothing to look up
+                && userRegistry.getUserCount() > 0;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        List<Object[]> participants = bookingRepository.findParticipantUsernames(event.getAggregateId());
+        if (participants.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = outboxService.readPayload(event);
+        BookingStatusMessage message = new BookingStatusMessage(event.getAggregateId(), event.getEventType().name(),
+                (String) payload.get("fromStatus"), (String) payload.get("toStatus"));
+
+        Object[] usernames = participants.get(0);
+        for (Object username : usernames) {
+            if (username != null && userRegistry.getUser((String) username) != null) {
+                messagingTemplate.convertAndSendToUser((String) username, WebSocketConfig.BOOKING_UPDATES_QUEUE, message);
+            }
+        }
+    }
+}
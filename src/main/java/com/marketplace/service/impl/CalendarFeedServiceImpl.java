@@ -0,0 +1,158 @@
+package com.marketplace.service.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.marketplace.dto.CalendarFeedVersion;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.Role;
+import com.marketplace.model.User;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.UserRepository;
+import com.marketplace.service.CalendarFeedService;
+import com.marketplace.util.Constants;
+import com.marketplace.util.IcsWriter;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarFeedServiceImpl.class);
+    private static final int FEED_PAST_DAYS = 90;
+    private static final int FEED_FUTURE_DAYS = 365;
+    private static final List<BookingStatus> FEED_STATUSES = List.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ProfessionalProfileRepository profileRepository;
+    private final EntityManager entityManager;
+
+    public CalendarFeedServiceImpl(BookingRepository bookingRepository,
+                                   UserRepository userRepository,
+                                   ProfessionalProfileRepository profileRepository,
+                                   EntityManager entityManager) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findUserByFeedToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        return userRepository.findByCalendarToken(token);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarFeedVersion getFeedVersion(User user) {
+        List<Object[]> rows = isProfessional(user)
+            ? bookingRepository.findFeedVersionByProfessional(getProfile(user))
+            : bookingRepository.findFeedVersionByClient(user);
+        Object[] row = rows.isEmpty() ? new Object[] {null, 0L} : rows.get(0);
+        LocalDateTime latest = (LocalDateTime) row[0];
+        long count = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+
+        long lastModified = latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1L;
+        // The feed window moves daily, so the start date is part of the tag
+        String etag = "\"" + user.getId() + "-" + lastModified + "-" + count + "-" + feedStart().toEpochDay() + "\"";
+        return new CalendarFeedVersion(etag, lastModified);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeFeed(User user, Writer writer) throws IOException {
+        boolean professional = isProfessional(user);
+        LocalDate startDate = feedStart();
+        LocalDate endDate = LocalDate.now().plusDays(FEED_FUTURE_DAYS);
+
+        IcsWriter ics = new IcsWriter(writer, ZoneId.systemDefault());
+        ics.beginCalendar(professional ? "ServiceMatch - Client bookings" : "ServiceMatch - My bookings");
+
+        int written = 0;
+        try (Stream<Booking> bookings = professional
+                ? bookingRepository.streamFeedBookingsByProfessional(getProfile(user), FEED_STATUSES, startDate, endDate)
+                : bookingRepository.streamFeedBookingsByClient(user, FEED_STATUSES, startDate, endDate)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                writeBooking(ics, booking, professional);
+                // Keep the persistence context from growing with the feed
+                entityManager.detach(booking);
+                written++;
+            }
+        }
+
+        ics.endCalendar();
+        logger.debug("Wrote calendar feed for user ID: {} with {} bookings", user.getId(), written);
+    }
+
+    @Override
+    @Transactional
+    public String regenerateFeedToken(User user) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        user.setCalendarToken(token);
+        userRepository.save(user);
+        logger.info("Issued new calendar feed token for user ID: {}", user.getId());
+        return token;
+    }
+
+    private void writeBooking(IcsWriter ics, Booking booking, boolean professionalView) throws IOException {
+        String summary;
+        String location = null;
+        if (professionalView) {
+            summary = "Booking: " + booking.getClient().getFullName();
+        } else {
+            ProfessionalProfile professional = booking.getProfessional();
+            summary = "Booking with " + professional.getUser().getFullName();
+            location = professional.getServiceAreaCity();
+        }
+        if (booking.getStatus() == BookingStatus.COMPLETED) {
+            summary += " (completed)";
+        }
+
+        ics.event("booking-" + booking.getId() + "@servicematch",
+                LocalDateTime.of(booking.getBookingDate(), booking.getStartTime()),
+                LocalDateTime.of(booking.getBookingDate(), booking.getEndTime()),
+                booking.getUpdatedAt() != null ? booking.getUpdatedAt() : booking.getCreatedAt(),
+                summary, booking.getServiceDetails(), location);
+    }
+
+    private boolean isProfessional(User user) {
+        return user.getRole() == Role.PROFESSIONAL;
+    }
+
+    private ProfessionalProfile getProfile(User user) {
+        return profileRepository.findByUser(user)
+            .orElseThrow(() -> new RuntimeException(Constants.PROFILE_NOT_FOUND));
+    }
+
+    private LocalDate feedStart() {
+        return LocalDate.now().minusDays(FEED_PAST_DAYS);
+    }
+}
@@ -0,0 +1,171 @@
+package com.marketplace.service.impl;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.marketplace.dto.CalendarImportResult;
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.exception.ValidationException;
+import com.marketplace.model.ExternalBusyBlock;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.User;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.service.CalendarImportService;
+import com.marketplace.service.OutboxService;
+import com.marketplace.util.Constants;
+import com.marketplace.util.IcsEventReader;
+import com.marketplace.util.RecurrenceExpander;
+
+@Service
+public class CalendarImportServiceImpl implements CalendarImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarImportServiceImpl.class);
+    private static final int IMPORT_HORIZON_DAYS = 180; // Recurring events are expanded this far ahead
+    private static final int WRITE_CHUNK_SIZE = 500;
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+    private static final String INSERT_SQL =
+            "INSERT INTO external_busy_blocks (professional_id, date, start_time, end_time, source_uid, imported_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final ProfessionalProfileRepository profileRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+
+    public CalendarImportServiceImpl(ExternalBusyBlockRepository busyBlockRepository,
+                                     AvailabilityRepository availabilityRepository,
+                                     ProfessionalProfileRepository profileRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     OutboxService outboxService) {
+        this.busyBlockRepository = busyBlockRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.profileRepository = profileRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    @Transactional
+    public CalendarImportResult importCalendar(User user, MultipartFile icsFile) throws IOException {
+        if (icsFile == null || icsFile.isEmpty()) {
+            throw new ValidationException("Calendar file is empty");
+        }
+        if (!isValidCalendarFile(icsFile)) {
+            throw new ValidationException("Please upload an .ics calendar file");
+        }
+        ProfessionalProfile profile = profileRepository.findByUser(user)
+            .orElseThrow(() -> new RuntimeException(Constants.PROFILE_NOT_FOUND));
+        logger.info("Importing external calendar for professional ID: {}", profile.getId());
+
+        LocalDate horizonStart = LocalDate.now();
+        LocalDate horizonEnd = horizonStart.plusDays(IMPORT_HORIZON_DAYS);
+
+        // A new import replaces the previous one entirely
+        busyBlockRepository.deleteByProfessional(profile);
+        availabilityRepository.releaseCalendarBlockedSlots(profile.getId());
+
+        BlockWriter writer = new BlockWriter(profile, horizonStart, horizonEnd);
+        int events;
+        try (Reader reader = new InputStreamReader(icsFile.getInputStream(), StandardCharsets.UTF_8)) {
+            events = IcsEventReader.read(reader, ZoneId.systemDefault(), event -> {
+                if (event.isBusy()) {
+                    String uid = event.getUid();
+                    writer.uid = uid != null && uid.length() > 255 ? uid.substring(0, 255) : uid;
+                    RecurrenceExpander.expand(event, horizonStart, horizonEnd, writer::addOccurrence);
+                }
+            });
+        }
+        writer.flush();
+
+        int blocked = availabilityRepository.blockSlotsOverlappingBusyTime(profile.getId(), horizonStart, horizonEnd);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED, profile.getId());
+        logger.info("Calendar import for professional ID: {} read {} events, stored {} busy blocks, blocked {} slots",
+                   profile.getId(), events, writer.written, blocked);
+        return new CalendarImportResult(events, writer.written, blocked);
+    }
+
+    /**
+     * Splits occurrences into per-day blocks and writes each fixed-size chunk as one JDBC
+     * batch, so memory does not grow with the file. The blocks never become managed
+     * entities; IDENTITY keys would stop Hibernate from batching the inserts itself.
+     */
+    private final class BlockWriter {
+        private final ProfessionalProfile profile;
+        private final LocalDate horizonStart;
+        private final LocalDate horizonEnd;
+        private final List<ExternalBusyBlock> chunk = new ArrayList<>(WRITE_CHUNK_SIZE);
+        private String uid;
+        private int written;
+
+        private BlockWriter(ProfessionalProfile profile, LocalDate horizonStart, LocalDate horizonEnd) {
+            this.profile = profile;
+            this.horizonStart = horizonStart;
+            this.horizonEnd = horizonEnd;
+        }
+
+        private void addOccurrence(LocalDateTime start, LocalDateTime end) {
+            LocalDate day = start.toLocalDate().isBefore(horizonStart) ? horizonStart : start.toLocalDate();
+            LocalDate lastDay = end.toLocalDate();
+            while (!day.isAfter(lastDay) && !day.isAfter(horizonEnd)) {
+                LocalTime from = day.equals(start.toLocalDate()) ? start.toLocalTime() : LocalTime.MIDNIGHT;
+                LocalTime to = day.equals(lastDay) ? end.toLocalTime() : END_OF_DAY;
+                if (from.isBefore(to)) {
+                    chunk.add(new ExternalBusyBlock(profile, day, from, to, uid));
+                    if (chunk.size() >= WRITE_CHUNK_SIZE) {
+                        flush();
+                    }
+                }
+                day = day.plusDays(1);
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ExternalBusyBlock block = chunk.get(i);
+                    ps.setLong(1, profile.getId());
+                    ps.setDate(2, Date.valueOf(block.getDate()));
+                    ps.setTime(3, Time.valueOf(block.getStartTime()));
+                    ps.setTime(4, Time.valueOf(block.getEndTime()));
+                    ps.setString(5, block.getSourceUid());
+                    ps.setTimestamp(6, Timestamp.valueOf(block.getImportedAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            written += chunk.size();
+            chunk.clear();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.marketplace.dto.SubmissionOutcome;
+import com.marketplace.exception.DuplicateSubmissionException;
+import com.marketplace.model.IdempotencyRecord;
+import com.marketplace.repository.IdempotencyRecordRepository;
+import com.marketplace.service.IdempotencyService;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+    private static final int MAX_KEY_LENGTH = 64;
+    // Matches spring.transaction.default-timeout; the original cannot run longer than this
+    private static final long DUPLICATE_WAIT_SECONDS = 30;
+    private static final int PURGE_EVERY_WRITES = 100;
+
+    private static final class Entry {
+        private final String key;
+        private final long createdNanos = System.nanoTime();
+        private final CompletableFuture<SubmissionOutcome> outcome = new CompletableFuture<>();
+
+        private Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final boolean persistent;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order, so the oldest entries are always at the head for eviction
+    private final Queue<Entry> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger writesSincePurge = new AtomicInteger();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository,
+                                  @Value("${app.idempotency.ttl-minutes:10}") long ttlMinutes,
+                                  @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                                  @Value("${app.idempotency.persistent:false}") boolean persistent) {
+        this.recordRepository = recordRepository;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.maxEntries = maxEntries;
+        this.persistent = persistent;
+    }
+
+    @Override
+    public SubmissionOutcome execute(Long userId, String idempotencyKey, Supplier<SubmissionOutcome> submission) {
+        if (userId == null || idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return submission.get();
+        }
+
+        String key = userId + ":" + idempotencyKey;
+        Entry candidate = new Entry(key);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, candidate)) != null && isExpired(existing)) {
+            entries.remove(key, existing);
+        }
+        if (existing != null) {
+            logger.debug("Replaying duplicate submission for user ID: {}", userId);
+            return await(existing);
+        }
+
+        evictionQueue.add(candidate);
+        evict();
+
+        try {
+            Optional<SubmissionOutcome> recorded = persistent
+                    ? findPersisted(userId, idempotencyKey) : Optional.empty();
+            SubmissionOutcome outcome = recorded.orElseGet(submission);
+            if (outcome.isFailure()) {
+                // Nothing happened, so the user can correct it and submit the same form again;
+                // duplicates already waiting on this entry still get the error
+                entries.remove(key, candidate);
+                candidate.outcome.complete(outcome);
+                return outcome;
+            }
+            candidate.outcome.complete(outcome);
+            if (persistent && recorded.isEmpty()) {
+                persist(userId, idempotencyKey, outcome);
+            }
+            return outcome;
+        } catch (RuntimeException e) {
+            // Let a retry run the submission again rather than replaying a failure
+            entries.remove(key, candidate);
+            candidate.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private SubmissionOutcome await(Entry entry) {
+        try {
+            return entry.outcome.get(DUPLICATE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new DuplicateSubmissionException("Your earlier submission is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateSubmissionException("Your earlier submission is still being processed.");
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.nanoTime() - entry.createdNanos > ttlNanos;
+    }
+
+    // Drops entries from the head while they are past the TTL or the map is over its bound
+    private void evict() {
+        Entry head;
+        while ((head = evictionQueue.peek()) != null
+                && (isExpired(head) || entries.size() > maxEntries)) {
+            Entry evicted = evictionQueue.poll();
+            if (evicted != null) {
+                entries.remove(evicted.key, evicted);
+            }
+        }
+    }
+
+    private Optional<SubmissionOutcome> findPersisted(Long userId, String idempotencyKey) {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(ttlNanos);
+        return recordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> {
+                    Map<String, String> messages = new LinkedHashMap<>();
+                    if (record.getFlashKey() != null) {
+                        messages.put(record.getFlashKey(), record.getFlashMessage());
+                    }
+                    return new SubmissionOutcome(record.getView(), messages);
+                });
+    }
+
+    private void persist(Long userId, String idempotencyKey, SubmissionOutcome outcome) {
+        Map.Entry<String, String> flash = outcome.getFlashMessages() == null ? null
+                : outcome.getFlashMessages().entrySet().stream().findFirst().orElse(null);
+        try {
+            recordRepository.save(new IdempotencyRecord(userId, idempotencyKey, outcome.getView(),
+                    flash != null ? flash.getKey() : null,
+                    flash != null ? truncate(flash.getValue(), 500) : null));
+        } catch (DataIntegrityViolationException e) {
+            // Another node recorded the same key first
+            logger.debug("Idempotency key already recorded for user ID: {}", userId);
+        }
+        if (writesSincePurge.incrementAndGet() >= PURGE_EVERY_WRITES) {
+            writesSincePurge.set(0);
+            recordRepository.deleteOlderThan(LocalDateTime.now().minusNanos(ttlNanos));
+        }
+    }
+
+    private static String truncate(String text, int length) {
+        return text != null && text.length() > length ? text.substring(0, length) : text;
+    }
+}
@@ -0,0 +1,237 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marketplace.model.ConsumerOffset;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.repository.ConsumerOffsetRepository;
+import com.marketplace.repository.OutboxEventRepository;
+import com.marketplace.service.OutboxSubscriber;
+
+/**
+ * Polls the outbox and hands events to each subscriber in commit order. Every subscriber
+ * has its own offset, moved forward only after its handler returned, so a crash or a
+ * failing handler means redelivery rather than a lost event, and one slow or broken
+ * subscriber does not hold the others back.
+ *
+ * Ids are taken when an event is inserted, so a long transaction can commit a lower id
+ * after a higher one was delivered. Each poll therefore first numbers the committed
+ * events that have no sequence yet, under a lock on the sequencer's own offset row;
+ * subscribers read by that number, which only ever grows past what they have seen.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    // Caps one poll, so a large backlog cannot starve the other subscribers
+    private static final int MAX_BATCHES_PER_POLL = 20;
+    // Offset row holding the last sequence number handed out; not a subscriber
+    static final String SEQUENCER = "outbox-sequencer";
+
+    private record Failure(Long eventId, int attempts) {
+    }
+
+    private final OutboxEventRepository eventRepository;
+    private final ConsumerOffsetRepository offsetRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retentionHours;
+
+    // Consecutive failures of the event each subscriber is stuck on
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    private volatile boolean sequencerRegistered;
+
+    public OutboxRelay(OutboxEventRepository eventRepository,
+                       ConsumerOffsetRepository offsetRepository,
+                       List<OutboxSubscriber> subscribers,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${app.outbox.retention-hours:168}") long retentionHours) {
+        this.eventRepository = eventRepository;
+        this.offsetRepository = offsetRepository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-millis:500}")
+    public void relay() {
+        try {
+            assignSequence();
+        } catch (RuntimeException e) {
+            logger.error("Outbox sequencing failed", e);
+        }
+        for (OutboxSubscriber subscriber : subscribers) {
+            try {
+                deliver(subscriber);
+            } catch (RuntimeException e) {
+                logger.error("Outbox delivery to {} failed", subscriber.getName(), e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-millis:3600000}",
+               initialDelayString = "${app.outbox.cleanup-millis:3600000}")
+    public void purgeDelivered() {
+        long deliveredUpTo = Long.MAX_VALUE;
+        List<String> names = new ArrayList<>(subscribers.size());
+        for (OutboxSubscriber subscriber : subscribers) {
+            names.add(subscriber.getName());
+        }
+        for (ConsumerOffset offset : offsetRepository.findAllById(names)) {
+            deliveredUpTo = Math.min(deliveredUpTo, offset.getLastEventId());
+        }
+        long upTo = deliveredUpTo;
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> eventRepository.deleteDelivered(upTo, cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} delivered outbox events", deleted);
+        }
+    }
+
+    // Numbers committed events in the order the relay first sees them; one node at a time
+    private void assignSequence() {
+        if (!sequencerRegistered) {
+            if (!offsetRepository.existsById(SEQUENCER)) {
+                registerSequencer();
+            }
+            sequencerRegistered = true;
+        }
+        for (int round = 0; round < MAX_BATCHES_PER_POLL; round++) {
+            Integer assigned = transactionTemplate.execute(status -> {
+                ConsumerOffset sequencer = offsetRepository.findForUpdate(SEQUENCER)
+                        .orElseThrow(() -> new IllegalStateException("Outbox sequencer is not registered"));
+                // Read after taking the lock, so whatever a previous holder numbered is excluded
+                List<OutboxEvent> events = eventRepository.findUnsequenced(PageRequest.of(0, batchSize));
+                long next = sequencer.getLastEventId();
+                for (OutboxEvent event : events) {
+                    event.setSequence(++next);
+                }
+                if (!events.isEmpty()) {
+                    sequencer.setLastEventId(next);
+                    sequencer.setUpdatedAt(LocalDateTime.now());
+                }
+                return events.size();
+            });
+            if (assigned == null || assigned < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Events from before sequencing keep their id as their number, which existing offsets point into
+    private void registerSequencer() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int numbered = eventRepository.sequenceById();
+                offsetRepository.register(SEQUENCER, eventRepository.findMaxSequence(), LocalDateTime.now());
+                logger.info("Registered outbox sequencer, numbered {} existing events by id", numbered);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Registered by another node at the same moment
+            logger.debug("Outbox sequencer already registered");
+        }
+    }
+
+    private void deliver(OutboxSubscriber subscriber) {
+        String name = subscriber.getName();
+        long offset = currentOffset(subscriber);
+
+        for (int round = 0; round < MAX_BATCHES_PER_POLL; round++) {
+            List<OutboxEvent> batch = eventRepository.findBatchAfter(offset, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            long delivered = offset;
+            boolean stalled = false;
+            for (OutboxEvent event : batch) {
+                if (!handle(subscriber, event)) {
+                    stalled = true;
+                    break;
+                }
+                delivered = event.getSequence();
+            }
+
+            if (delivered > offset) {
+                long from = offset;
+                long to = delivered;
+                Integer moved = transactionTemplate.execute(status ->
+                        offsetRepository.advance(name, from, to, LocalDateTime.now()));
+                if (moved == null || moved == 0) {
+                    // Another node moved this consumer on; pick up from its offset next poll
+                    return;
+                }
+                offset = delivered;
+            }
+            if (stalled || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // True when the subscriber is done with the event, whether handled, not wanted or given up on
+    private boolean handle(OutboxSubscriber subscriber, OutboxEvent event) {
+        if (!subscriber.accepts(event)) {
+            return true;
+        }
+        String name = subscriber.getName();
+        try {
+            subscriber.handle(event);
+            failures.remove(name);
+            return true;
+        } catch (RuntimeException e) {
+            Failure previous = failures.get(name);
+            int attempts = previous != null && previous.eventId().equals(event.getId()) ? previous.attempts() + 1 : 1;
+            if (attempts >= maxAttempts) {
+                failures.remove(name);
+                logger.error("Giving up on outbox event {} ({}) for {} after {} attempts",
+                             event.getId(), event.getEventType(), name, attempts, e);
+                return true;
+            }
+            failures.put(name, new Failure(event.getId(), attempts));
+            logger.warn("Outbox event {} failed for {} (attempt {}), will retry", event.getId(), name, attempts, e);
+            return false;
+        }
+    }
+
+    private long currentOffset(OutboxSubscriber subscriber) {
+        String name = subscriber.getName();
+        return offsetRepository.findById(name)
+                .map(ConsumerOffset::getLastEventId)
+                .orElseGet(() -> registerConsumer(subscriber));
+    }
+
+    private long registerConsumer(OutboxSubscriber subscriber) {
+        long start = subscriber.replaysHistory() ? 0L : eventRepository.findMaxSequence();
+        try {
+            offsetRepository.register(subscriber.getName(), start, LocalDateTime.now());
+            logger.info("Registered outbox consumer {} at event {}", subscriber.getName(), start);
+            return start;
+        } catch (DataIntegrityViolationException e) {
+            // Registered by another node at the same moment
+            return offsetRepository.findById(subscriber.getName())
+                    .map(ConsumerOffset::getLastEventId)
+                    .orElseThrow(() -> e);
+        }
+    }
+}
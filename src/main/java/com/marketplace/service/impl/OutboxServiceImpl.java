@@ -0,0 +1,91 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.model.Review;
+import com.marketplace.repository.OutboxEventRepository;
+import com.marketplace.service.OutboxService;
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxServiceImpl(OutboxEventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, Long aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+        eventRepository.save(new OutboxEvent(eventType, aggregateId, json, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBookingStatusChange(Long bookingId, Long clientId, Long professionalId,
+                                           BookingStatus fromStatus, BookingStatus toStatus, Long actorId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", bookingId);
+        payload.put("clientId", clientId);
+        payload.put("professionalId", professionalId);
+        payload.put("fromStatus", fromStatus != null ? fromStatus.name() : null);
+        payload.put("toStatus", toStatus.name());
+        payload.put("actorId", actorId);
+        publish(fromStatus == null ? OutboxEventType.BOOKING_CREATED : OutboxEventType.BOOKING_STATUS_CHANGED,
+                bookingId, payload);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishReviewEvent(OutboxEventType eventType, Review review, Integer previousRating) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reviewId", review.getId());
+        payload.put("professionalId", review.getProfessional().getId());
+        payload.put("clientId", review.getClient().getId());
+        payload.put("bookingId", review.getBooking().getId());
+        payload.put("rating", review.getRating());
+        payload.put("previousRating", previousRating);
+        publish(eventType, review.getId(), payload);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishProfessionalChange(OutboxEventType eventType, Long professionalId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("professionalId", professionalId);
+        publish(eventType, professionalId, payload);
+    }
+
+    @Override
+    public Map<String, Object> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed payload for outbox event " + event.getId(), e);
+        }
+    }
+}
@@ -5,9 +5,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -21,7 +31,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.dto.AvailabilityMatchDto;
+import com.marketplace.dto.ProfessionalDashboard;
 import com.marketplace.dto.ProfessionalProfileDto;
+import com.marketplace.dto.SlotDto;
+import com.marketplace.dto.SlotHold;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
 import com.marketplace.exception.UserAlreadyExistsException;
 import com.marketplace.exception.UsernameTakenException;
 import com.marketplace.model.Availability;
@@ -29,34 +45,52 @@ import com.marketplace.model.ProfessionalProfile;
 import com.marketplace.model.ServiceCategory;
 import com.marketplace.model.User;
 import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
 import com.marketplace.repository.ProfessionalProfileRepository;
 import com.marketplace.repository.ReviewRepository;
 import com.marketplace.repository.ServiceCategoryRepository;
 import com.marketplace.repository.UserRepository;
+import com.marketplace.service.OutboxService;
 import com.marketplace.service.ProfessionalService;
+import com.marketplace.service.SlotHoldService;
 import com.marketplace.util.Constants;
+import com.marketplace.util.SlotGenerator;
 
 @Service
 public class ProfessionalServiceImpl implements ProfessionalService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProfessionalServiceImpl.class);
+    private static final int NEW_REVIEW_DAYS = 7;
 
     private final ProfessionalProfileRepository profileRepository;
     private final ServiceCategoryRepository categoryRepository;
     private final AvailabilityRepository availabilityRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final SlotHoldService slotHoldService;
+    private final OutboxService outboxService;
 
     public ProfessionalServiceImpl(ProfessionalProfileRepository profileRepository,
                                  ServiceCategoryRepository categoryRepository,
                                  AvailabilityRepository availabilityRepository,
                                  ReviewRepository reviewRepository,
-                                 UserRepository userRepository) {
+                                 UserRepository userRepository,
+                                 BookingRepository bookingRepository,
+                                 ExternalBusyBlockRepository busyBlockRepository,
+                                 SlotHoldService slotHoldService,
+                                 OutboxService outboxService) {
         this.profileRepository = profileRepository;
         this.categoryRepository = categoryRepository;
         this.availabilityRepository = availabilityRepository;
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
+        this.bookingRepository = bookingRepository;
+        this.busyBlockRepository = busyBlockRepository;
+        this.slotHoldService = slotHoldService;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -168,6 +202,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
         }
 
         ProfessionalProfile updatedProfile = profileRepository.save(profile);
+        outboxService.publishProfessionalChange(OutboxEventType.PROFILE_UPDATED, updatedProfile.getId());
         logger.info("Profile updated successfully with ID: {}", updatedProfile.getId());
         return updatedProfile;
     }
@@ -192,6 +227,31 @@ public class ProfessionalServiceImpl implements ProfessionalService {
         return profileRepository.existsByUser(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProfessionalDashboard getDashboard(User user) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        List<Object[]> rows = profileRepository.findDashboardSummary(user.getId(),
+                BookingStatus.PENDING, BookingStatus.CONFIRMED,
+                EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED),
+                today, weekStart, weekStart.plusDays(6),
+                LocalDateTime.now().minusDays(NEW_REVIEW_DAYS));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new ProfessionalDashboard(
+                toLong(row[3]), toLong(row[4]), toLong(row[5]),
+                row[1] != null ? ((Number) row[1]).doubleValue() : 0.0,
+                row[2] != null ? ((Number) row[2]).intValue() : 0,
+                toLong(row[6]), toLong(row[7]), toLong(row[8]));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ServiceCategory> getAllCategories() {
@@ -214,6 +274,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
         ProfessionalProfile profile = getProfileById(profileId);
         availabilityList.forEach(availability -> availability.setProfessional(profile));
         availabilityRepository.saveAll(availabilityList);
+        outboxService.publishProfessionalChange(OutboxEventType.AVAILABILITY_CHANGED, profileId);
     }
 
     @Override
@@ -226,13 +287,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
     @Override
     @Transactional(readOnly = true)
     public Page<ProfessionalProfile> searchProfessionals(String category, String city, Double minRating, Pageable pageable) {
-        Long categoryId = null;
-        if (category != null && !category.isEmpty()) {
-            ServiceCategory cat = categoryRepository.findByName(category).orElse(null);
-            if (cat != null) {
-                categoryId = cat.getId();
-            }
-        }
+        Long categoryId = resolveCategoryId(category);
 
         List<ProfessionalProfile> profiles = profileRepository.findProfessionalsByFilters(
                 categoryId, city, minRating);
@@ -253,6 +308,163 @@ public class ProfessionalServiceImpl implements ProfessionalService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityMatchDto> searchAvailableProfessionals(String category, String city, LocalDate date,
+                                                                   LocalTime from, LocalTime to, Integer durationMinutes) {
+        if (date == null || from == null || to == null) {
+            throw new IllegalArgumentException("Date, start time and end time are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        int fromMinute = SlotGenerator.toMinutes(from);
+        int toMinute = SlotGenerator.toMinutes(to);
+        int duration = durationMinutes != null && durationMinutes > 0 ? durationMinutes : toMinute - fromMinute;
+        if (duration > toMinute - fromMinute) {
+            throw new IllegalArgumentException("Duration cannot be longer than the requested time window");
+        }
+
+        String cityFilter = city != null && !city.trim().isEmpty() ? city.trim() : null;
+        List<Availability> rows = availabilityRepository.findOpenSlotsForSearch(
+                resolveCategoryId(category), cityFilter, date, from, to);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> professionalIds = new LinkedHashSet<>();
+        List<Long> windowIds = new ArrayList<>();
+        for (Availability row : rows) {
+            professionalIds.add(row.getProfessional().getId());
+            if (row.isWindow()) {
+                windowIds.add(row.getId());
+            }
+        }
+        Map<Long, List<SlotHold>> windowHolds = slotHoldService.getWindowHolds(windowIds);
+        List<Object[]> occupied = bookingRepository.findOccupiedIntervalsByProfessionalsAndDate(
+                professionalIds, BookingStatus.ACTIVE, date);
+        List<Object[]> busy = busyBlockRepository.findIntervalsByProfessionalsAndDate(professionalIds, date);
+        Map<Long, ProfessionalProfile> profiles = profileRepository.findAllWithUserAndCategoryByIdIn(professionalIds)
+                .stream()
+                .collect(Collectors.toMap(ProfessionalProfile::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        int notBefore = date.equals(now.toLocalDate()) ? SlotGenerator.toMinutes(now.toLocalTime()) + 1 : -1;
+
+        // Merged sweep: rows and occupied intervals are both ordered by professional id then start time
+        List<AvailabilityMatchDto> matches = new ArrayList<>();
+        List<SlotDto> free = new ArrayList<>();
+        int[] buffer = new int[16];
+        int rowIndex = 0;
+        int occupiedIndex = 0;
+        int busyIndex = 0;
+
+        while (rowIndex < rows.size()) {
+            long professionalId = rows.get(rowIndex).getProfessional().getId();
+
+            while (occupiedIndex < occupied.size() && (Long) occupied.get(occupiedIndex)[0] < professionalId) {
+                occupiedIndex++;
+            }
+            int count = 0;
+            while (occupiedIndex < occupied.size() && (Long) occupied.get(occupiedIndex)[0] == professionalId) {
+                buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                Object[] interval = occupied.get(occupiedIndex++);
+                buffer[2 * count] = SlotGenerator.toMinutes((LocalTime) interval[1]);
+                buffer[2 * count + 1] = SlotGenerator.toMinutes((LocalTime) interval[2]);
+                count++;
+            }
+            // Imported calendar time blocks slots just like bookings do
+            int bookedCount = count;
+            while (busyIndex < busy.size() && (Long) busy.get(busyIndex)[0] < professionalId) {
+                busyIndex++;
+            }
+            while (busyIndex < busy.size() && (Long) busy.get(busyIndex)[0] == professionalId) {
+                buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                Object[] interval = busy.get(busyIndex++);
+                buffer[2 * count] = SlotGenerator.toMinutes((LocalTime) interval[1]);
+                buffer[2 * count + 1] = SlotGenerator.toEndMinutes((LocalTime) interval[2]);
+                count++;
+            }
+            if (bookedCount > 0 && count > bookedCount) {
+                SlotGenerator.sortIntervals(buffer, count);
+            }
+
+            free.clear();
+            while (rowIndex < rows.size() && rows.get(rowIndex).getProfessional().getId() == professionalId) {
+                Availability row = rows.get(rowIndex++);
+                if (row.isWindow()) {
+                    // Sub-slots held by a checkout count as taken
+                    List<SlotHold> holds = windowHolds.getOrDefault(row.getId(), List.of());
+                    for (SlotHold hold : holds) {
+                        buffer = SlotGenerator.ensureCapacity(buffer, count + 1);
+                        buffer[2 * count] = SlotGenerator.toMinutes(hold.getStartTime());
+                        buffer[2 * count + 1] = SlotGenerator.toMinutes(hold.getEndTime());
+                        count++;
+                    }
+                    if (!holds.isEmpty()) {
+                        SlotGenerator.sortIntervals(buffer, count);
+                    }
+                    SlotGenerator.expand(row, buffer, count, notBefore, free);
+                } else if (!row.isHeldAt(now) && SlotGenerator.toMinutes(row.getStartTime()) >= notBefore
+                        && !SlotGenerator.overlapsAny(buffer, count, SlotGenerator.toMinutes(row.getStartTime()),
+                                SlotGenerator.toMinutes(row.getEndTime()))) {
+                    free.add(new SlotDto(row.getId(), row.getDate(), row.getStartTime(), row.getEndTime(), false));
+                }
+            }
+
+            AvailabilityMatchDto match = findClosestFreeInterval(profiles.get(professionalId), date, free,
+                    fromMinute, toMinute, duration);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+
+        matches.sort(Comparator.comparingLong(AvailabilityMatchDto::getMinutesFromRequested)
+                .thenComparing(match -> match.getProfessional().getAverageRating(),
+                        Comparator.nullsLast(Comparator.reverseOrder())));
+        return matches;
+    }
+
+    // Merges back-to-back or overlapping free slots and returns the first run that fits the requested duration
+    private AvailabilityMatchDto findClosestFreeInterval(ProfessionalProfile professional, LocalDate date,
+                                                         List<SlotDto> free, int fromMinute, int toMinute,
+                                                         int duration) {
+        if (professional == null) {
+            return null;
+        }
+        // Window sub-slots are appended row by row and plain rows after them, so restore start order
+        free.sort(Comparator.comparing(SlotDto::getStartTime).thenComparing(SlotDto::getEndTime));
+        int i = 0;
+        while (i < free.size()) {
+            int runStart = SlotGenerator.toMinutes(free.get(i).getStartTime());
+            int runEnd = SlotGenerator.toMinutes(free.get(i).getEndTime());
+            i++;
+            while (i < free.size() && SlotGenerator.toMinutes(free.get(i).getStartTime()) <= runEnd) {
+                runEnd = Math.max(runEnd, SlotGenerator.toMinutes(free.get(i).getEndTime()));
+                i++;
+            }
+
+            int clippedStart = Math.max(runStart, fromMinute);
+            int clippedEnd = Math.min(runEnd, toMinute);
+            if (clippedEnd - clippedStart >= duration) {
+                return new AvailabilityMatchDto(professional, date,
+                        SlotGenerator.fromMinutes(clippedStart), SlotGenerator.fromMinutes(clippedEnd),
+                        clippedStart - fromMinute);
+            }
+        }
+        return null;
+    }
+
+    private Long resolveCategoryId(String category) {
+        if (category != null && !category.isEmpty()) {
+            ServiceCategory cat = categoryRepository.findByName(category).orElse(null);
+            if (cat != null) {
+                return cat.getId();
+            }
+        }
+        return null;
+    }
+
     @Override
     @Transactional
     public ProfessionalProfile updateProfilePhoto(User user, MultipartFile photoFile) throws IOException {
@@ -265,6 +477,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
         ProfessionalProfile profile = getProfileByUser(user);
         profile.setProfilePhotoPath(photoUrls[0]);
         profile.setProfilePhotoUrl(photoUrls[1]);
+        outboxService.publishProfessionalChange(OutboxEventType.PROFILE_UPDATED, profile.getId());
         
         return profileRepository.save(profile);
     }
@@ -298,6 +511,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
 
         profile.setCertificatesPath(certData[0]);
         profile.setCertificatesUrls(mapper.writeValueAsString(allUrls));
+        outboxService.publishProfessionalChange(OutboxEventType.PROFILE_UPDATED, profile.getId());
         
         return profileRepository.save(profile);
     }
@@ -0,0 +1,194 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.dto.ProfessionalDetailDto;
+import com.marketplace.dto.ReviewSummaryDto;
+import com.marketplace.dto.SlotDto;
+import com.marketplace.exception.ProfessionalNotFoundException;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.ProfessionalView;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.ProfessionalViewRepository;
+import com.marketplace.repository.ReviewRepository;
+import com.marketplace.service.AvailabilityService;
+import com.marketplace.service.OutboxService;
+import com.marketplace.service.OutboxSubscriber;
+import com.marketplace.service.ProfessionalViewService;
+import com.marketplace.util.Constants;
+
+/**
+ * Maintains professional_view. Every outbox event names a professional, and handling it
+ * rebuilds that professional's row from the source tables, so redelivery is harmless.
+ * Page views read the row by primary key and only rebuild it when it is missing or older
+ * than max-age; that also moves the slot horizon forward and picks up edits, such as a
+ * changed user name, that publish no event. Both writers save with the version they read,
+ * so a page view that rebuilt from a stale row loses to the relay instead of overwriting it.
+ */
+@Service
+public class ProfessionalViewServiceImpl implements ProfessionalViewService, OutboxSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfessionalViewServiceImpl.class);
+    private static final TypeReference<List<ReviewSummaryDto>> REVIEWS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<SlotDto>> SLOTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ProfessionalViewRepository viewRepository;
+    private final ProfessionalProfileRepository profileRepository;
+    private final ReviewRepository reviewRepository;
+    private final AvailabilityService availabilityService;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int reviewLimit;
+    private final int slotLimit;
+    private final int horizonDays;
+    private final long maxAgeMinutes;
+
+    public ProfessionalViewServiceImpl(ProfessionalViewRepository viewRepository,
+                                       ProfessionalProfileRepository profileRepository,
+                                       ReviewRepository reviewRepository,
+                                       AvailabilityService availabilityService,
+                                       OutboxService outboxService,
+                                       ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.professional-view.review-limit:10}") int reviewLimit,
+                                       @Value("${app.professional-view.slot-limit:100}") int slotLimit,
+                                       @Value("${app.professional-view.horizon-days:30}") int horizonDays,
+                                       @Value("${app.professional-view.max-age-minutes:60}") long maxAgeMinutes) {
+        this.viewRepository = viewRepository;
+        this.profileRepository = profileRepository;
+        this.reviewRepository = reviewRepository;
+        this.availabilityService = availabilityService;
+        this.outboxService = outboxService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reviewLimit = reviewLimit;
+        this.slotLimit = slotLimit;
+        this.horizonDays = horizonDays;
+        this.maxAgeMinutes = maxAgeMinutes;
+    }
+
+    @Override
+    public String getName() {
+        return "professional-view";
+    }
+
+    @Override
+    @Transactional
+    public void handle(OutboxEvent event) {
+        Object professionalId = outboxService.readPayload(event).get("professionalId");
+        if (!(professionalId instanceof Number)) {
+            return;
+        }
+        Optional<ProfessionalView> existing = viewRepository.findById(((Number) professionalId).longValue());
+        if (existing.isPresent() && existing.get().getLastEventId() != null
+                && existing.get().getLastEventId() >= event.getSequence()) {
+            return;
+        }
+        ProfessionalView view = build(((Number) professionalId).longValue(), event.getSequence(),
+                existing.map(ProfessionalView::getVersion).orElse(null));
+        if (view != null) {
+            viewRepository.save(view);
+        }
+    }
+
+    @Override
+    public ProfessionalDetailDto getDetail(Long profileId) {
+        Optional<ProfessionalView> stored = viewRepository.findById(profileId);
+        LocalDateTime freshAfter = LocalDateTime.now().minusMinutes(maxAgeMinutes);
+        if (stored.isPresent() && stored.get().getRefreshedAt().isAfter(freshAfter)) {
+            return toDetail(stored.get());
+        }
+
+        Long lastEventId = stored.map(ProfessionalView::getLastEventId).orElse(null);
+        Long version = stored.map(ProfessionalView::getVersion).orElse(null);
+        ProfessionalView view = transactionTemplate.execute(status -> build(profileId, lastEventId, version));
+        if (view == null) {
+            throw new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND);
+        }
+        try {
+            viewRepository.save(view);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // The relay or another request wrote the row since we read it; keep theirs, what we built is still good to show
+            logger.debug("Professional view for profile ID: {} was refreshed concurrently", profileId);
+        }
+        return toDetail(view);
+    }
+
+    // Reads the source tables; null when the profile does not exist. version is that of the row the caller read
+    private ProfessionalView build(Long profileId, Long lastEventId, Long version) {
+        List<ProfessionalProfile> profiles = profileRepository.findAllWithUserAndCategoryByIdIn(List.of(profileId));
+        if (profiles.isEmpty()) {
+            return null;
+        }
+        ProfessionalProfile profile = profiles.get(0);
+
+        List<ReviewSummaryDto> reviews = new ArrayList<>();
+        for (Object[] row : reviewRepository.findLatestSummaries(profileId, PageRequest.of(0, reviewLimit))) {
+            reviews.add(new ReviewSummaryDto((String) row[0], (String) row[1], (Integer) row[2], (String) row[3],
+                    (LocalDateTime) row[4], (LocalDate) row[5]));
+        }
+        LocalDate today = LocalDate.now();
+        List<SlotDto> slots = availabilityService.getBookableSlots(profile, today, today.plusDays(horizonDays));
+        if (slots.size() > slotLimit) {
+            slots = slots.subList(0, slotLimit);
+        }
+
+        return new ProfessionalView(profileId, profile.getUser().getFullName(), profile.getCategory().getName(),
+                profile.getBio(), profile.getHourlyRate(), profile.getServiceAreaCity(), profile.getServiceAreaState(),
+                profile.getProfilePhotoUrl(), profile.getCertificatesUrls(), profile.getAverageRating(),
+                profile.getTotalReviews(), write(reviews), write(slots), lastEventId, LocalDateTime.now(), version);
+    }
+
+    private ProfessionalDetailDto toDetail(ProfessionalView view) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SlotDto> slots = new ArrayList<>(read(view.getOpenSlots(), SLOTS_TYPE));
+        // The row may be up to max-age old; slots that have started since are no longer bookable
+        slots.removeIf(slot -> !LocalDateTime.of(slot.getDate(), slot.getStartTime()).isAfter(now));
+
+        return new ProfessionalDetailDto(view.getProfileId(), view.getFullName(), view.getCategoryName(),
+                view.getBio(), view.getHourlyRate(), view.getServiceAreaCity(), view.getServiceAreaState(),
+                view.getProfilePhotoUrl(), ProfessionalProfile.parseCertificateUrls(view.getCertificatesUrls()), view.getAverageRating(),
+                view.getTotalReviews(), read(view.getLatestReviews(), REVIEWS_TYPE), slots);
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize professional view", e);
+        }
+    }
+
+    private <T> List<T> read(String json, TypeReference<List<T>> type) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed professional view", e);
+        }
+    }
+}
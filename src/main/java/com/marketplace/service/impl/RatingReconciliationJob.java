@@ -0,0 +1,55 @@
+package com.marketplace.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.marketplace.dto.ChunkProgress;
+import com.marketplace.service.ReviewService;
+
+/**
+ * Review writes keep each profile's rating totals up to date with a delta, so nothing
+ * recounts reviews on the write path. This job is the safety net: it walks the profiles
+ * in id order a chunk at a time and repairs totals that no longer match the live reviews,
+ * such as those of profiles that had reviews before the totals were introduced. It runs
+ * once at startup so those profiles are backfilled straight away; until then review
+ * writes skip them rather than average against a rating_sum of 0.
+ */
+@Component
+public class RatingReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingReconciliationJob.class);
+
+    private final ReviewService reviewService;
+    private final int chunkSize;
+
+    public RatingReconciliationJob(ReviewService reviewService,
+                                   @Value("${app.review.reconcile.chunk-size:500}") int chunkSize) {
+        this.reviewService = reviewService;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileAtStartup() {
+        reconcileRatings();
+    }
+
+    @Scheduled(fixedDelayString = "${app.review.reconcile.interval-millis:86400000}",
+               initialDelayString = "${app.review.reconcile.interval-millis:86400000}")
+    public void reconcileRatings() {
+        long afterId = 0L;
+        int repaired = 0;
+        ChunkProgress progress;
+        while ((progress = reviewService.reconcileRatings(afterId, chunkSize)) != null) {
+            repaired += progress.getProcessed();
+            afterId = progress.getLastId();
+        }
+        if (repaired > 0) {
+            logger.info("Repaired the rating totals of {} professionals", repaired);
+        }
+    }
+}
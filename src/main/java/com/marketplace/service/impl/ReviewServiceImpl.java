@@ -5,11 +5,14 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.marketplace.dto.ChunkProgress;
 import com.marketplace.dto.ReviewDto;
 import com.marketplace.enums.BookingStatus;
+import com.marketplace.enums.OutboxEventType;
 import com.marketplace.exception.AccessDeniedException;
 import com.marketplace.exception.BookingNotFoundException;
 import com.marketplace.exception.ProfessionalNotFoundException;
@@ -24,6 +27,7 @@ import com.marketplace.repository.BookingRepository;
 import com.marketplace.repository.ProfessionalProfileRepository;
 import com.marketplace.repository.ReviewRepository;
 import com.marketplace.repository.UserRepository;
+import com.marketplace.service.OutboxService;
 import com.marketplace.service.ReviewService;
 
 @Service("reviewService")
@@ -36,15 +40,18 @@ public class ReviewServiceImpl implements ReviewService {
     private final BookingRepository bookingRepository;
     private final ProfessionalProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
 
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                            BookingRepository bookingRepository,
                            ProfessionalProfileRepository profileRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           OutboxService outboxService) {
         this.reviewRepository = reviewRepository;
         this.bookingRepository = bookingRepository;
         this.profileRepository = profileRepository;
         this.userRepository = userRepository;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -79,9 +86,9 @@ public class ReviewServiceImpl implements ReviewService {
         // Create review
         Review review = new Review(professional, client, booking, reviewDto.getRating(), reviewDto.getComment());
         Review savedReview = reviewRepository.save(review);
+        outboxService.publishReviewEvent(OutboxEventType.REVIEW_CREATED, savedReview, null);
 
-        // Update professional's average rating asynchronously or in same transaction
-        updateProfessionalRating(professional);
+        profileRepository.applyRatingDelta(professional.getId(), savedReview.getRating().longValue(), 1);
 
         logger.info("Review created successfully with ID: {}", savedReview.getId());
         return savedReview;
@@ -124,13 +131,17 @@ public class ReviewServiceImpl implements ReviewService {
         validateReviewDto(reviewDto);
         
         // Update fields
+        Integer previousRating = review.getRating();
         review.setRating(reviewDto.getRating());
         review.setComment(reviewDto.getComment());
         
         Review updatedReview = reviewRepository.save(review);
+        outboxService.publishReviewEvent(OutboxEventType.REVIEW_UPDATED, updatedReview, previousRating);
         
-        // Update professional's average rating
-        updateProfessionalRating(review.getProfessional());
+        if (!previousRating.equals(updatedReview.getRating())) {
+            profileRepository.applyRatingDelta(review.getProfessional().getId(),
+                    (long) updatedReview.getRating() - previousRating, 0);
+        }
         
         logger.info("Review updated successfully with ID: {}", reviewId);
         return updatedReview;
@@ -147,9 +158,9 @@ public class ReviewServiceImpl implements ReviewService {
         // Soft delete
         review.markAsDeleted();
         reviewRepository.save(review);
+        outboxService.publishReviewEvent(OutboxEventType.REVIEW_DELETED, review, null);
         
-        // Update professional's average rating
-        updateProfessionalRating(professional);
+        profileRepository.applyRatingDelta(professional.getId(), -review.getRating().longValue(), -1);
         
         logger.info("Review soft deleted successfully with ID: {}", reviewId);
     }
@@ -177,13 +188,13 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional(readOnly = true)
     public Double getAverageRating(ProfessionalProfile professional) {
-        return reviewRepository.findAverageRatingByProfessionalAndDeletedFalse(professional);
+        return professional.getAverageRating();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long getTotalReviews(ProfessionalProfile professional) {
-        return reviewRepository.countReviewsByProfessionalAndDeletedFalse(professional);
+        return professional.getTotalReviews().longValue();
     }
 
     @Override
@@ -192,6 +203,31 @@ public class ReviewServiceImpl implements ReviewService {
         return reviewRepository.findRecentReviewsByProfessionalAndDeletedFalse(professional);
     }
 
+    @Override
+    @Transactional
+    public ChunkProgress reconcileRatings(Long afterProfileId, int chunkSize) {
+        List<Object[]> rows = profileRepository.findRatingTotalsAfterId(afterProfileId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        int repaired = 0;
+        for (Object[] row : rows) {
+            long storedSum = ((Number) row[1]).longValue();
+            int storedCount = ((Number) row[2]).intValue();
+            long liveSum = ((Number) row[3]).longValue();
+            int liveCount = ((Number) row[4]).intValue();
+            if (storedSum == liveSum && storedCount == liveCount) {
+                continue;
+            }
+            // Applied as a delta: a review committed after the read above adds its own on top
+            profileRepository.repairRatingTotals((Long) row[0], liveSum - storedSum, liveCount - storedCount);
+            logger.warn("Repaired rating totals of professional ID: {} from {}/{} to {}/{}",
+                    row[0], storedSum, storedCount, liveSum, liveCount);
+            repaired++;
+        }
+        return new ChunkProgress((Long) rows.get(rows.size() - 1)[0], repaired);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Review getReviewByIdAndClient(Long id, User client) {
@@ -244,22 +280,4 @@ public class ReviewServiceImpl implements ReviewService {
                                         + REVIEW_WINDOW_DAYS + " days of booking completion");
         }
     }
-
-    private void updateProfessionalRating(ProfessionalProfile professional) {
-        try {
-            Double averageRating = reviewRepository.findAverageRatingByProfessionalAndDeletedFalse(professional);
-            Long totalReviews = reviewRepository.countReviewsByProfessionalAndDeletedFalse(professional);
-            
-            professional.setAverageRating(averageRating != null ? averageRating : 0.0);
-            professional.setTotalReviews(totalReviews.intValue());
-            
-            profileRepository.save(professional);
-            
-            logger.debug("Updated professional ID: {} rating to {} ({} reviews)", 
-                        professional.getId(), averageRating, totalReviews);
-        } catch (Exception e) {
-            logger.error("Failed to update professional rating for ID: " + professional.getId(), e);
-            // Don't throw here as this is a secondary operation
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.marketplace.dto.SlotHold;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.exception.AvailabilityNotFoundException;
+import com.marketplace.exception.BookingException;
+import com.marketplace.exception.SlotNotAvailableException;
+import com.marketplace.model.Availability;
+import com.marketplace.model.User;
+import com.marketplace.model.WindowSlotHold;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
+import com.marketplace.repository.WindowSlotHoldRepository;
+import com.marketplace.service.SlotHoldService;
+import com.marketplace.util.HashedTimerWheel;
+import com.marketplace.util.SlotGenerator;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds live in the database so every node sees them: plain slots in availability.held_until,
+ * sub-slots of working windows in window_slot_holds. The local token map only remembers the
+ * holds this node placed so it can release them when they expire.
+ */
+@Service
+public class SlotHoldServiceImpl implements SlotHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotHoldServiceImpl.class);
+    private static final int HOLD_MINUTES = 5;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final BookingRepository bookingRepository;
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final WindowSlotHoldRepository windowHoldRepository;
+
+    private final Map<String, SlotHold> holdsByToken = new ConcurrentHashMap<>();
+    // One-second resolution is plenty for five-minute holds
+    private final HashedTimerWheel expiryWheel = new HashedTimerWheel("slot-hold-expiry", 1000, 512);
+    // Expired holds are cleared here, off the wheel thread
+    private final ExecutorService releaseExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "slot-hold-release");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SlotHoldServiceImpl(AvailabilityRepository availabilityRepository,
+                               BookingRepository bookingRepository,
+                               ExternalBusyBlockRepository busyBlockRepository,
+                               WindowSlotHoldRepository windowHoldRepository) {
+        this.availabilityRepository = availabilityRepository;
+        this.bookingRepository = bookingRepository;
+        this.busyBlockRepository = busyBlockRepository;
+        this.windowHoldRepository = windowHoldRepository;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.close();
+        releaseExecutor.shutdown();
+    }
+
+    @Override
+    @Transactional
+    public SlotHold placeHold(User client, Long availabilityId, LocalTime startTime) {
+        Availability availability = availabilityRepository.findById(availabilityId)
+                .orElseThrow(() -> new AvailabilityNotFoundException("Availability slot not found"));
+        if (availability.isBooked()) {
+            throw new SlotNotAvailableException("This time slot is no longer available");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SlotHold hold = availability.isWindow()
+                ? holdWindowSlot(client, availability, startTime, now)
+                : holdPlainSlot(client, availability, now);
+
+        if (holdsByToken.putIfAbsent(hold.getToken(), hold) == null) {
+            expiryWheel.schedule(() -> expire(hold), HOLD_MINUTES, TimeUnit.MINUTES);
+            logger.debug("Placed hold on availability ID: {} at {} for client ID: {}",
+                        availabilityId, hold.getStartTime(), client.getId());
+        }
+        return hold;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SlotHold> findHold(String token, User client) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SlotHold hold = holdsByToken.get(token);
+        if (hold != null) {
+            return hold.getClientId().equals(client.getId()) && !hold.isExpiredAt(now)
+                    ? Optional.of(hold) : Optional.empty();
+        }
+
+        // Holds placed on another node are still visible through the database
+        Optional<SlotHold> plain = availabilityRepository.findByHoldToken(token)
+                .filter(availability -> availability.isHeldAt(now))
+                .map(availability -> new SlotHold(token, client.getId(), availability.getProfessional().getId(),
+                        availability.getId(), availability.getDate(), availability.getStartTime(),
+                        availability.getEndTime(), availability.getHeldUntil(), false));
+        if (plain.isPresent()) {
+            return plain;
+        }
+        return windowHoldRepository.findByHoldToken(token)
+                .filter(row -> row.getClientId().equals(client.getId()) && row.getHeldUntil().isAfter(now))
+                .map(SlotHoldServiceImpl::toSlotHold);
+    }
+
+    @Override
+    @Transactional
+    public void releaseHold(String token, User client) {
+        SlotHold hold = holdsByToken.get(token);
+        if (hold != null && hold.getClientId().equals(client.getId())) {
+            remove(hold);
+        } else if (hold == null && token != null) {
+            availabilityRepository.findByHoldToken(token)
+                    .ifPresent(availability -> availabilityRepository.clearHold(availability.getId(), token));
+            windowHoldRepository.findByHoldToken(token)
+                    .filter(row -> row.getClientId().equals(client.getId()))
+                    .ifPresent(row -> windowHoldRepository.deleteByHoldToken(token));
+        }
+    }
+
+    // Called after the booking commits, so it needs a transaction of its own
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completeHold(String token) {
+        if (token == null) {
+            return;
+        }
+        SlotHold hold = holdsByToken.remove(token);
+        // The booking's reserve already cleared a plain slot's hold; a hold placed on another
+        // node is unknown here and may be a window hold
+        if (hold == null || hold.isWindowSlot()) {
+            windowHoldRepository.deleteByHoldToken(token);
+        }
+    }
+
+    @Override
+    public boolean isHeldByOther(Long availabilityId, LocalTime startTime, String token) {
+        return windowHoldRepository.existsLiveHoldByOther(availabilityId, startTime, token, LocalDateTime.now());
+    }
+
+    @Override
+    public Map<Long, List<SlotHold>> getWindowHolds(Collection<Long> availabilityIds) {
+        if (availabilityIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<SlotHold>> holds = new HashMap<>();
+        for (WindowSlotHold row : windowHoldRepository.findLiveByAvailabilityIds(availabilityIds, LocalDateTime.now())) {
+            holds.computeIfAbsent(row.getAvailabilityId(), id -> new ArrayList<>()).add(toSlotHold(row));
+        }
+        return holds;
+    }
+
+    private SlotHold holdPlainSlot(User client, Availability availability, LocalDateTime now) {
+        if (!LocalDateTime.of(availability.getDate(), availability.getEndTime()).isAfter(now)) {
+            throw new BookingException("Cannot book past time slots");
+        }
+        if (availability.isHeldAt(now)) {
+            SlotHold existing = holdsByToken.get(availability.getHoldToken());
+            if (existing != null && existing.getClientId().equals(client.getId())) {
+                return existing;
+            }
+            throw new SlotNotAvailableException(
+                "Someone else is booking this time slot. Please choose another or try again in a few minutes.");
+        }
+
+        SlotHold hold = newHold(client, availability, availability.getStartTime(), availability.getEndTime(), now, false);
+        // The conditional update settles races between nodes
+        if (availabilityRepository.placeHold(availability.getId(), hold.getToken(), hold.getExpiresAt(), now) == 0) {
+            throw new SlotNotAvailableException(
+                "Someone else is booking this time slot. Please choose another or try again in a few minutes.");
+        }
+        return hold;
+    }
+
+    private SlotHold holdWindowSlot(User client, Availability window, LocalTime startTime, LocalDateTime now) {
+        if (startTime == null) {
+            throw new BookingException("Start time is required for this availability");
+        }
+        LocalTime endTime = SlotGenerator.slotEndFor(window, startTime);
+        if (endTime == null) {
+            throw new BookingException("Selected time does not match the professional's slot schedule");
+        }
+        if (!LocalDateTime.of(window.getDate(), startTime).isAfter(now)) {
+            throw new BookingException("Cannot book past time slots");
+        }
+        if (bookingRepository.existsOverlappingBooking(window.getProfessional(), BookingStatus.ACTIVE,
+                window.getDate(), startTime, endTime)
+                || busyBlockRepository.existsOverlapping(window.getProfessional(), window.getDate(), startTime, endTime)) {
+            throw new SlotNotAvailableException("This time slot is no longer available");
+        }
+
+        SlotHold hold = newHold(client, window, startTime, endTime, now, true);
+        // Conditional writes settle races between nodes, as placeHold does for plain slots
+        if (windowHoldRepository.takeOverExpired(window.getId(), startTime, endTime, client.getId(),
+                hold.getToken(), hold.getExpiresAt(), now) > 0
+                || windowHoldRepository.insertIfAbsent(window.getId(), startTime, endTime, hold.getProfessionalId(),
+                        window.getDate(), client.getId(), hold.getToken(), hold.getExpiresAt()) > 0) {
+            return hold;
+        }
+        // A live hold is in the way; the client's own is handed back
+        return windowHoldRepository.findByAvailabilityIdAndStartTime(window.getId(), startTime)
+                .filter(row -> row.getClientId().equals(client.getId()) && row.getHeldUntil().isAfter(now))
+                .map(SlotHoldServiceImpl::toSlotHold)
+                .orElseThrow(() -> new SlotNotAvailableException(
+                    "Someone else is booking this time slot. Please choose another or try again in a few minutes."));
+    }
+
+    private static SlotHold toSlotHold(WindowSlotHold row) {
+        return new SlotHold(row.getHoldToken(), row.getClientId(), row.getProfessionalId(), row.getAvailabilityId(),
+                row.getDate(), row.getStartTime(), row.getEndTime(), row.getHeldUntil(), true);
+    }
+
+    private SlotHold newHold(User client, Availability availability, LocalTime startTime, LocalTime endTime,
+                             LocalDateTime now, boolean windowSlot) {
+        return new SlotHold(UUID.randomUUID().toString(), client.getId(), availability.getProfessional().getId(),
+                availability.getId(), availability.getDate(), startTime, endTime,
+                now.plusMinutes(HOLD_MINUTES), windowSlot);
+    }
+
+    // Runs on the timer wheel thread, so the database work is handed to the release executor;
+    // a no-op if the hold was already completed or released
+    private void expire(SlotHold hold) {
+        if (holdsByToken.get(hold.getToken()) != hold) {
+            return;
+        }
+        releaseExecutor.execute(() -> {
+            try {
+                remove(hold);
+                logger.debug("Hold expired on availability ID: {}", hold.getAvailabilityId());
+            } catch (RuntimeException e) {
+                // The row lapses by held_until anyway; the next hold on the slot takes it over
+                logger.warn("Failed to clear expired hold on availability ID: {}", hold.getAvailabilityId(), e);
+            }
+        });
+    }
+
+    private void remove(SlotHold hold) {
+        if (!holdsByToken.remove(hold.getToken(), hold)) {
+            return;
+        }
+        if (hold.isWindowSlot()) {
+            windowHoldRepository.deleteByHoldToken(hold.getToken());
+        } else {
+            availabilityRepository.clearHold(hold.getAvailabilityId(), hold.getToken());
+        }
+    }
+}
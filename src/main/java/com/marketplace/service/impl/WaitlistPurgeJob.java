@@ -0,0 +1,46 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.marketplace.service.WaitlistService;
+
+/**
+ * Deletes waitlist entries for days that have gone by. Each chunk is its own short
+ * DELETE, repeated until a chunk comes back short, so a large backlog never holds
+ * locks on the waitlist table for long.
+ */
+@Component
+public class WaitlistPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistPurgeJob.class);
+
+    private final WaitlistService waitlistService;
+    private final int chunkSize;
+
+    public WaitlistPurgeJob(WaitlistService waitlistService,
+                            @Value("${app.waitlist.purge.chunk-size:500}") int chunkSize) {
+        this.waitlistService = waitlistService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.purge.interval-millis:3600000}",
+               initialDelayString = "${app.waitlist.purge.interval-millis:3600000}")
+    public void purgePastEntries() {
+        LocalDate today = LocalDate.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = waitlistService.purgePastEntries(today, chunkSize);
+            purged += deleted;
+        } while (deleted == chunkSize);
+        if (purged > 0) {
+            logger.info("Purged {} waitlist entries for days before {}", purged, today);
+        }
+    }
+}
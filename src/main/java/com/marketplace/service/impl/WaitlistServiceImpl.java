@@ -0,0 +1,206 @@
+package com.marketplace.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.marketplace.exception.AvailabilityNotFoundException;
+import com.marketplace.exception.BookingException;
+import com.marketplace.exception.ProfessionalNotFoundException;
+import com.marketplace.exception.UnauthorizedAccessException;
+import com.marketplace.model.Availability;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.User;
+import com.marketplace.model.WaitlistEntry;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.WaitlistEntryRepository;
+import com.marketplace.service.BookingHistoryService;
+import com.marketplace.service.OutboxService;
+import com.marketplace.service.SlotHoldService;
+import com.marketplace.service.WaitlistService;
+import com.marketplace.util.Constants;
+import com.marketplace.util.SlotGenerator;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+    private static final String PROMOTED_DETAILS = "Booked automatically from the waitlist";
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final ProfessionalProfileRepository profileRepository;
+    private final BookingRepository bookingRepository;
+    private final ExternalBusyBlockRepository busyBlockRepository;
+    private final SlotHoldService slotHoldService;
+    private final BookingHistoryService historyService;
+    private final OutboxService outboxService;
+
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistRepository,
+                               AvailabilityRepository availabilityRepository,
+                               ProfessionalProfileRepository profileRepository,
+                               BookingRepository bookingRepository,
+                               ExternalBusyBlockRepository busyBlockRepository,
+                               SlotHoldService slotHoldService,
+                               BookingHistoryService historyService,
+                               OutboxService outboxService) {
+        this.waitlistRepository = waitlistRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.profileRepository = profileRepository;
+        this.bookingRepository = bookingRepository;
+        this.busyBlockRepository = busyBlockRepository;
+        this.slotHoldService = slotHoldService;
+        this.historyService = historyService;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntry joinSlot(User client, Long availabilityId, LocalTime startTime) {
+        Availability availability = availabilityRepository.findByIdWithProfessionalAndUser(availabilityId)
+                .orElseThrow(() -> new AvailabilityNotFoundException("Availability slot not found"));
+        ProfessionalProfile professional = availability.getProfessional();
+        if (professional.getUser().getId().equals(client.getId())) {
+            throw new BookingException("You cannot join the waitlist for your own service");
+        }
+
+        LocalTime slotStart = availability.getStartTime();
+        LocalTime entryStart = null;
+        if (availability.isWindow()) {
+            if (startTime == null || SlotGenerator.slotEndFor(availability, startTime) == null) {
+                throw new BookingException("Selected time does not match the professional's slot schedule");
+            }
+            slotStart = startTime;
+            entryStart = startTime;
+        } else if (!availability.isBooked()) {
+            throw new BookingException("This time slot is still available. You can book it directly.");
+        }
+        if (!LocalDateTime.of(availability.getDate(), slotStart).isAfter(LocalDateTime.now())) {
+            throw new BookingException("Cannot join the waitlist for past time slots");
+        }
+
+        boolean alreadyWaiting = entryStart == null
+                ? waitlistRepository.existsByClientAndAvailabilityAndStartTimeIsNull(client, availability)
+                : waitlistRepository.existsByClientAndAvailabilityAndStartTime(client, availability, entryStart);
+        if (alreadyWaiting) {
+            throw new BookingException("You are already on the waitlist for this time slot");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(
+                new WaitlistEntry(client, professional, availability, availability.getDate(), entryStart));
+        logger.info("Client ID: {} joined waitlist for availability ID: {}", client.getId(), availabilityId);
+        return entry;
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntry joinDay(User client, Long professionalId, LocalDate date) {
+        if (date == null || date.isBefore(LocalDate.now())) {
+            throw new BookingException("Please choose today or a future date");
+        }
+        ProfessionalProfile professional = profileRepository.findById(professionalId)
+                .orElseThrow(() -> new ProfessionalNotFoundException(Constants.PROFILE_NOT_FOUND));
+        if (professional.getUser().getId().equals(client.getId())) {
+            throw new BookingException("You cannot join the waitlist for your own service");
+        }
+        if (waitlistRepository.existsByClientAndProfessionalAndDateAndAvailabilityIsNull(client, professional, date)) {
+            throw new BookingException("You are already on the waitlist for this day");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(client, professional, null, date, null));
+        logger.info("Client ID: {} joined day waitlist for professional ID: {} on {}", client.getId(), professionalId, date);
+        return entry;
+    }
+
+    @Override
+    @Transactional
+    public void leave(Long entryId, User client) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new BookingException("Waitlist entry not found"));
+        if (!entry.getClient().getId().equals(client.getId())) {
+            throw new UnauthorizedAccessException("Access denied to waitlist entry");
+        }
+        waitlistRepository.delete(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getUpcomingEntries(User client) {
+        return waitlistRepository.findUpcomingByClient(client, LocalDate.now());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Booking promoteNext(Booking released) {
+        Availability availability = released.getAvailability();
+        if (availability == null
+                || !LocalDateTime.of(released.getBookingDate(), released.getStartTime()).isAfter(LocalDateTime.now())) {
+            return null;
+        }
+        ProfessionalProfile professional = released.getProfessional();
+
+        // Whoever waited for this exact slot goes first, then the day queue
+        Optional<WaitlistEntry> head = availability.isWindow()
+                ? waitlistRepository.findFirstByAvailabilityAndStartTimeOrderByIdAsc(availability, released.getStartTime())
+                : waitlistRepository.findFirstByAvailabilityAndStartTimeIsNullOrderByIdAsc(availability);
+        if (head.isEmpty()) {
+            head = waitlistRepository.findFirstByProfessionalAndDateAndAvailabilityIsNullOrderByIdAsc(
+                    professional, released.getBookingDate());
+        }
+        if (head.isEmpty()) {
+            return null;
+        }
+        WaitlistEntry entry = head.get();
+
+        Booking promoted;
+        if (availability.isWindow()) {
+            if (busyBlockRepository.existsOverlapping(professional, released.getBookingDate(),
+                    released.getStartTime(), released.getEndTime())
+                    || slotHoldService.isHeldByOther(availability.getId(), released.getStartTime(), null)) {
+                return null;
+            }
+            promoted = new Booking(entry.getClient(), professional, availability,
+                    released.getStartTime(), released.getEndTime(), PROMOTED_DETAILS);
+        } else {
+            // Same conditional reserve as a normal booking; a checkout hold or busy time keeps the queue waiting
+            if (availabilityRepository.markAsBookedIfAvailable(availability.getId(), null, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            promoted = new Booking(entry.getClient(), professional, availability, PROMOTED_DETAILS);
+        }
+
+        if (!bookingRepository.insertIfNoOverlap(promoted)) {
+            // Another of the professional's slots overlapping this one is booked; hand the slot back
+            if (!availability.isWindow()) {
+                availabilityRepository.releaseSlot(availability.getId());
+            }
+            return null;
+        }
+        historyService.record(promoted.getId(), null, promoted.getStatus(), null);
+        outboxService.publishBookingStatusChange(promoted.getId(), entry.getClient().getId(),
+                professional.getId(), null, promoted.getStatus(), null);
+        waitlistRepository.delete(entry);
+        logger.info("Promoted waitlist entry ID: {} to booking ID: {}", entry.getId(), promoted.getId());
+        return promoted;
+    }
+
+    @Override
+    @Transactional
+    public int purgePastEntries(LocalDate before, int limit) {
+        List<Long> ids = waitlistRepository.findIdsBefore(before, PageRequest.of(0, limit));
+        return ids.isEmpty() ? 0 : waitlistRepository.deleteByIdIn(ids);
+    }
+}
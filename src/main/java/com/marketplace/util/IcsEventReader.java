@@ -0,0 +1,327 @@
+package com.marketplace.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for the VEVENT parts of an iCalendar (.ics) file.
+ *
+ * Lines are unfolded into one reusable buffer and every event is delivered through a
+ * single reusable {@link Event} holder, so memory use stays flat no matter how many
+ * events the file contains. Only the properties needed to work out busy time are kept.
+ */
+public final class IcsEventReader {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public interface Handler {
+        void onEvent(Event event);
+    }
+
+    /**
+     * Mutable view of the current VEVENT. Valid only during {@link Handler#onEvent}.
+     */
+    public static final class Event {
+        private String uid;
+        private LocalDateTime start;
+        private LocalDateTime ruleStart;
+        private ZoneId ruleZone;
+        private ZoneId zone;
+        private LocalDateTime end;
+        private Duration duration;
+        private boolean allDay;
+        private boolean transparent;
+        private boolean cancelled;
+        private String rrule;
+        private final List<LocalDateTime> exdates = new ArrayList<>();
+
+        private void reset() {
+            uid = null;
+            start = null;
+            ruleStart = null;
+            ruleZone = null;
+            end = null;
+            duration = null;
+            allDay = false;
+            transparent = false;
+            cancelled = false;
+            rrule = null;
+            exdates.clear();
+        }
+
+        public String getUid() {
+            return uid;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        // DTSTART as written, in its own zone; recurrences step in this wall-clock time
+        public LocalDateTime getRuleStart() {
+            return ruleStart;
+        }
+
+        // Zone of DTSTART, or null for floating and all-day times
+        public ZoneId getRuleZone() {
+            return ruleZone;
+        }
+
+        // Zone the event's times were converted to
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        // DTEND, or DTSTART plus DURATION; all-day events without either last one day
+        public LocalDateTime getEnd() {
+            if (end != null) {
+                return end;
+            }
+            if (start == null) {
+                return null;
+            }
+            if (duration != null) {
+                return start.plus(duration);
+            }
+            return allDay ? start.plusDays(1) : start;
+        }
+
+        public boolean isAllDay() {
+            return allDay;
+        }
+
+        public String getRrule() {
+            return rrule;
+        }
+
+        public List<LocalDateTime> getExdates() {
+            return exdates;
+        }
+
+        // Free-marked or cancelled events do not block time
+        public boolean isBusy() {
+            return !transparent && !cancelled && start != null;
+        }
+    }
+
+    private IcsEventReader() {
+    }
+
+    /**
+     * Reads all VEVENTs from the reader, converting times to {@code zone}.
+     *
+     * @return the number of events delivered to the handler
+     */
+    public static int read(Reader source, ZoneId zone, Handler handler) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        StringBuilder line = new StringBuilder(256);
+        Event event = new Event();
+        event.zone = zone;
+        boolean inEvent = false;
+        int nestedDepth = 0;
+        int delivered = 0;
+
+        String raw = reader.readLine();
+        while (raw != null) {
+            line.setLength(0);
+            line.append(raw);
+            // Unfold continuation lines (RFC 5545 3.1)
+            raw = reader.readLine();
+            while (raw != null && !raw.isEmpty() && (raw.charAt(0) == ' ' || raw.charAt(0) == '\t')) {
+                line.append(raw, 1, raw.length());
+                raw = reader.readLine();
+            }
+
+            int valueStart = findValueStart(line);
+            if (valueStart < 0) {
+                continue;
+            }
+            int nameEnd = findNameEnd(line, valueStart);
+            String name = line.substring(0, nameEnd).toUpperCase();
+
+            if (name.equals("BEGIN")) {
+                if (contentEquals(line, valueStart + 1, "VEVENT")) {
+                    inEvent = true;
+                    nestedDepth = 0;
+                    event.reset();
+                } else if (inEvent) {
+                    nestedDepth++;
+                }
+                continue;
+            }
+            if (name.equals("END")) {
+                if (inEvent && nestedDepth > 0) {
+                    nestedDepth--;
+                } else if (inEvent && contentEquals(line, valueStart + 1, "VEVENT")) {
+                    inEvent = false;
+                    handler.onEvent(event);
+                    delivered++;
+                }
+                continue;
+            }
+            if (!inEvent || nestedDepth > 0) {
+                continue;
+            }
+
+            String params = nameEnd < valueStart ? line.substring(nameEnd + 1, valueStart) : "";
+            String value = line.substring(valueStart + 1).trim();
+            switch (name) {
+                case "UID":
+                    event.uid = value;
+                    break;
+                case "DTSTART":
+                    event.allDay = isDateOnly(params, value);
+                    event.start = parseDateTime(params, value, zone);
+                    event.ruleStart = parseLocal(params, value);
+                    event.ruleZone = event.allDay ? null : sourceZone(params, value);
+                    break;
+                case "DTEND":
+                    event.end = parseDateTime(params, value, zone);
+                    break;
+                case "DURATION":
+                    event.duration = parseDuration(value);
+                    break;
+                case "RRULE":
+                    event.rrule = value;
+                    break;
+                case "EXDATE":
+                    for (String part : value.split(",")) {
+                        LocalDateTime excluded = parseDateTime(params, part.trim(), zone);
+                        if (excluded != null) {
+                            event.exdates.add(excluded);
+                        }
+                    }
+                    break;
+                case "TRANSP":
+                    event.transparent = value.equalsIgnoreCase("TRANSPARENT");
+                    break;
+                case "STATUS":
+                    event.cancelled = value.equalsIgnoreCase("CANCELLED");
+                    break;
+                default:
+                    break;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Parses an iCalendar DATE or DATE-TIME value into local time in {@code zone}.
+     * Returns null for values that cannot be parsed.
+     */
+    public static LocalDateTime parseDateTime(String params, String value, ZoneId zone) {
+        LocalDateTime parsed = parseLocal(params, value);
+        if (parsed == null || isDateOnly(params, value)) {
+            return parsed;
+        }
+        ZoneId sourceZone = sourceZone(params, value);
+        if (sourceZone == null) {
+            // Floating time, already local
+            return parsed;
+        }
+        return parsed.atZone(sourceZone).withZoneSameInstant(zone).toLocalDateTime();
+    }
+
+    // The value as written, without converting it out of its zone; null when unparseable
+    private static LocalDateTime parseLocal(String params, String value) {
+        try {
+            if (isDateOnly(params, value)) {
+                return LocalDate.parse(value.substring(0, 8), DATE).atStartOfDay();
+            }
+            boolean utc = value.endsWith("Z");
+            return LocalDateTime.parse(utc ? value.substring(0, value.length() - 1) : value, DATE_TIME);
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    // UTC for a trailing Z, else the TZID zone, or null for floating time
+    private static ZoneId sourceZone(String params, String value) {
+        return value.endsWith("Z") ? ZoneOffset.UTC : parseTzid(params);
+    }
+
+    private static boolean isDateOnly(String params, String value) {
+        return params.toUpperCase().contains("VALUE=DATE") && !params.toUpperCase().contains("VALUE=DATE-TIME")
+                || (value.length() == 8 && value.indexOf('T') < 0);
+    }
+
+    private static ZoneId parseTzid(String params) {
+        for (String param : params.split(";")) {
+            if (param.regionMatches(true, 0, "TZID=", 0, 5)) {
+                String tzid = param.substring(5).replace("\"", "").trim();
+                try {
+                    // Some producers prefix IANA names with a slash, e.g. "/Europe/Berlin"
+                    return ZoneId.of(tzid.startsWith("/") ? tzid.substring(1) : tzid);
+                } catch (DateTimeException e) {
+                    // Outlook and Exchange write Windows zone names
+                    return WindowsTimeZones.lookup(tzid);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Duration parseDuration(String value) {
+        try {
+            // java.time wants days in the time part, iCal allows weeks
+            if (value.endsWith("W")) {
+                int weeks = Integer.parseInt(value.replaceAll("[^0-9]", ""));
+                return Duration.ofDays(7L * weeks);
+            }
+            return Duration.parse(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Index of the ':' separating name/params from the value, skipping quoted parameter values
+    private static int findValueStart(CharSequence line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int findNameEnd(CharSequence line, int valueStart) {
+        for (int i = 0; i < valueStart; i++) {
+            if (line.charAt(i) == ';') {
+                return i;
+            }
+        }
+        return valueStart;
+    }
+
+    private static boolean contentEquals(CharSequence line, int from, String expected) {
+        int end = line.length();
+        while (end > from && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        if (end - from != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toUpperCase(line.charAt(from + i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.marketplace.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal iCalendar (RFC 5545) writer. Writes straight to the given Writer so a
+ * feed can be streamed to the response as bookings are read.
+ */
+public class IcsWriter {
+
+    private static final DateTimeFormatter UTC_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_LENGTH = 75;
+
+    private final Writer out;
+    private final ZoneId zone;
+
+    public IcsWriter(Writer out, ZoneId zone) {
+        this.out = out;
+        this.zone = zone;
+    }
+
+    public void beginCalendar(String name) throws IOException {
+        property("BEGIN", "VCALENDAR");
+        property("VERSION", "2.0");
+        property("PRODID", "-//ServiceMatch//Booking Feed//EN");
+        property("CALSCALE", "GREGORIAN");
+        property("METHOD", "PUBLISH");
+        property("X-WR-CALNAME", escape(name));
+    }
+
+    public void event(String uid, LocalDateTime start, LocalDateTime end, LocalDateTime lastModified,
+                      String summary, String description, String location) throws IOException {
+        property("BEGIN", "VEVENT");
+        property("UID", uid);
+        property("DTSTAMP", utc(lastModified));
+        property("LAST-MODIFIED", utc(lastModified));
+        property("DTSTART", utc(start));
+        property("DTEND", utc(end));
+        property("SUMMARY", escape(summary));
+        if (description != null && !description.isEmpty()) {
+            property("DESCRIPTION", escape(description));
+        }
+        if (location != null && !location.isEmpty()) {
+            property("LOCATION", escape(location));
+        }
+        property("STATUS", "CONFIRMED");
+        property("END", "VEVENT");
+    }
+
+    public void endCalendar() throws IOException {
+        property("END", "VCALENDAR");
+        out.flush();
+    }
+
+    private String utc(LocalDateTime time) {
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_STAMP);
+    }
+
+    // Writes "NAME:value" folded at 75 characters with CRLF line endings
+    private void property(String name, String value) throws IOException {
+        out.write(name);
+        out.write(':');
+        int used = name.length() + 1;
+        int pos = 0;
+        while (value.length() - pos > MAX_LINE_LENGTH - used) {
+            int end = pos + MAX_LINE_LENGTH - used;
+            // Do not split a surrogate pair across lines
+            if (Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+            out.write(value, pos, end - pos);
+            out.write("\r\n ");
+            pos = end;
+            used = 1;
+        }
+        out.write(value, pos, value.length() - pos);
+        out.write("\r\n");
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\': escaped.append("\\\\"); break;
+                case ';': escaped.append("\\;"); break;
+                case ',': escaped.append("\\,"); break;
+                case '\n': escaped.append("\\n"); break;
+                case '\r': break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,487 @@
+package com.marketplace.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Expands an iCalendar RRULE into concrete occurrences inside a date horizon.
+ *
+ * Supports FREQ=DAILY/WEEKLY/MONTHLY/YEARLY with INTERVAL, COUNT, UNTIL and WKST, plus:
+ * BYDAY as a filter on daily rules, the days of the week on weekly rules, and with
+ * ordinals such as 2TU or -1FR on monthly and yearly rules; BYMONTHDAY on daily, monthly
+ * and yearly rules; BYMONTH on every frequency; and BYSETPOS on monthly and yearly rules.
+ * Rules using anything else (BYHOUR, BYWEEKNO, BYYEARDAY, ...) are skipped with a
+ * warning rather than expanded as if those parts were absent, which would block the
+ * wrong days. Recurrences step in DTSTART's own zone and each occurrence is converted
+ * afterwards, so a 09:00 meeting stays at 09:00 across daylight saving changes. Rules
+ * without COUNT skip straight to the horizon instead of walking every occurrence since
+ * DTSTART where the frequency allows it.
+ */
+public final class RecurrenceExpander {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurrenceExpander.class);
+
+    // Guards against pathological rules (e.g. FREQ=DAILY with a far-future UNTIL)
+    public static final int MAX_OCCURRENCES = 5000;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public interface OccurrenceSink {
+        void accept(LocalDateTime start, LocalDateTime end);
+    }
+
+    // A BYDAY entry; ordinal 0 means every such weekday in the period
+    private record WeekdayNum(int ordinal, DayOfWeek day) {
+    }
+
+    private static final class Rule {
+        private String freq;
+        private int interval = 1;
+        private int count = -1;
+        private String until;
+        private DayOfWeek weekStart = DayOfWeek.MONDAY;
+        private final List<WeekdayNum> byDay = new ArrayList<>();
+        private final List<Integer> byMonthDay = new ArrayList<>();
+        private final List<Integer> byMonth = new ArrayList<>();
+        private final List<Integer> bySetPos = new ArrayList<>();
+        private String unsupported;
+
+        private boolean hasOrdinalByDay() {
+            return byDay.stream().anyMatch(entry -> entry.ordinal() != 0);
+        }
+
+        private boolean matchesWeekday(DayOfWeek day) {
+            return byDay.stream().anyMatch(entry -> entry.day() == day);
+        }
+    }
+
+    /**
+     * Decides whether each occurrence the rule generates is counted and emitted, and
+     * tells the generators when to stop.
+     */
+    private static final class Emitter {
+        private final IcsEventReader.Event event;
+        private final long lengthMinutes;
+        private final int count;
+        private final LocalDateTime lastStart;
+        private final LocalDateTime windowStart;
+        private final LocalDateTime windowEnd;
+        private final OccurrenceSink sink;
+        private int seen;
+        private int emitted;
+
+        private Emitter(IcsEventReader.Event event, long lengthMinutes, int count, LocalDateTime lastStart,
+                        LocalDateTime windowStart, LocalDateTime windowEnd, OccurrenceSink sink) {
+            this.event = event;
+            this.lengthMinutes = lengthMinutes;
+            this.count = count;
+            this.lastStart = lastStart;
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.sink = sink;
+        }
+
+        // True once a rule time at or after this one can no longer produce an occurrence
+        private boolean pastEnd(LocalDateTime ruleTime) {
+            LocalDateTime start = toLocal(event, ruleTime);
+            return start.isAfter(lastStart) || !start.isBefore(windowEnd);
+        }
+
+        // Counts and emits one occurrence, given in DTSTART's zone; false once the rule is exhausted
+        private boolean offer(LocalDateTime ruleTime) {
+            if ((count >= 0 && seen >= count) || emitted >= MAX_OCCURRENCES || pastEnd(ruleTime)) {
+                return false;
+            }
+            seen++;
+            LocalDateTime start = toLocal(event, ruleTime);
+            if (emit(start, start.plusMinutes(lengthMinutes), windowStart, windowEnd, event.getExdates(), sink)) {
+                emitted++;
+            }
+            return true;
+        }
+    }
+
+    private RecurrenceExpander() {
+    }
+
+    /**
+     * Emits every occurrence of {@code event} that overlaps [horizonStart, horizonEnd].
+     */
+    public static void expand(IcsEventReader.Event event, LocalDate horizonStart, LocalDate horizonEnd,
+                              OccurrenceSink sink) {
+        LocalDateTime start = event.getStart();
+        LocalDateTime end = event.getEnd();
+        if (start == null || end == null || end.isBefore(start)) {
+            return;
+        }
+        LocalDateTime windowStart = horizonStart.atStartOfDay();
+        LocalDateTime windowEnd = horizonEnd.plusDays(1).atStartOfDay();
+
+        if (event.getRrule() == null) {
+            emit(start, end, windowStart, windowEnd, event.getExdates(), sink);
+            return;
+        }
+
+        Rule rule = parse(event.getRrule());
+        if (rule == null) {
+            return;
+        }
+        if (rule.unsupported == null) {
+            rule.unsupported = unsupportedPart(rule);
+        }
+        if (rule.unsupported != null) {
+            logger.warn("Skipping recurring event {}: {} is not supported", event.getUid(), rule.unsupported);
+            return;
+        }
+        LocalDateTime until = parseUntil(event, rule.until);
+        if (rule.until != null && until == null) {
+            return;
+        }
+
+        LocalDateTime lastStart = until != null && until.isBefore(windowEnd) ? until : windowEnd;
+        Emitter emitter = new Emitter(event, ChronoUnit.MINUTES.between(start, end), rule.count, lastStart,
+                windowStart, windowEnd, sink);
+        switch (rule.freq) {
+            case "DAILY":
+                expandDaily(event.getRuleStart(), rule, horizonStart, emitter);
+                break;
+            case "WEEKLY":
+                expandWeekly(event.getRuleStart(), rule, horizonStart, emitter);
+                break;
+            default:
+                expandByPeriod(event.getRuleStart(), rule, emitter);
+                break;
+        }
+    }
+
+    private static void expandDaily(LocalDateTime ruleStart, Rule rule, LocalDate horizonStart, Emitter emitter) {
+        long index = 0;
+        if (rule.count < 0) {
+            // Jump to the last period that can still overlap the horizon; the extra day covers
+            // the offset between DTSTART's zone and ours
+            long daysBehind = ChronoUnit.DAYS.between(ruleStart.toLocalDate(), horizonStart)
+                    - emitter.lengthMinutes / 1440 - 2;
+            index = Math.max(0, daysBehind / rule.interval);
+        }
+        for (;; index++) {
+            LocalDateTime occurrence = ruleStart.plusDays(index * rule.interval);
+            if (emitter.pastEnd(occurrence)) {
+                return;
+            }
+            LocalDate date = occurrence.toLocalDate();
+            if (!matchesMonth(rule, date)
+                    || (!rule.byDay.isEmpty() && !rule.matchesWeekday(date.getDayOfWeek()))
+                    || (!rule.byMonthDay.isEmpty() && !matchesMonthDay(rule, date))) {
+                continue;
+            }
+            if (!emitter.offer(occurrence)) {
+                return;
+            }
+        }
+    }
+
+    private static void expandWeekly(LocalDateTime ruleStart, Rule rule, LocalDate horizonStart, Emitter emitter) {
+        // Weeks are anchored on WKST, Monday unless the rule says otherwise
+        LocalDate firstWeek = ruleStart.toLocalDate().with(TemporalAdjusters.previousOrSame(rule.weekStart));
+        long week = 0;
+        if (rule.count < 0 && ruleStart.toLocalDate().isBefore(horizonStart)) {
+            long weeksBehind = ChronoUnit.WEEKS.between(firstWeek, horizonStart) - emitter.lengthMinutes / 10080 - 1;
+            week = Math.max(0, weeksBehind / rule.interval);
+        }
+        for (;; week++) {
+            LocalDate weekStart = firstWeek.plusWeeks(week * rule.interval);
+            if (emitter.pastEnd(weekStart.atTime(ruleStart.toLocalTime()))) {
+                return;
+            }
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = weekStart.plusDays(day);
+                boolean onDay = rule.byDay.isEmpty()
+                        ? date.getDayOfWeek() == ruleStart.getDayOfWeek()
+                        : rule.matchesWeekday(date.getDayOfWeek());
+                LocalDateTime occurrence = date.atTime(ruleStart.toLocalTime());
+                if (!onDay || occurrence.isBefore(ruleStart) || !matchesMonth(rule, date)) {
+                    continue;
+                }
+                if (!emitter.offer(occurrence)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Monthly and yearly rules: works out each period's dates, then applies BYSETPOS
+    private static void expandByPeriod(LocalDateTime ruleStart, Rule rule, Emitter emitter) {
+        boolean monthly = rule.freq.equals("MONTHLY");
+        LocalDate firstPeriod = monthly ? ruleStart.toLocalDate().withDayOfMonth(1)
+                : ruleStart.toLocalDate().withDayOfYear(1);
+        for (long period = 0;; period++) {
+            LocalDate periodStart = monthly ? firstPeriod.plusMonths(period * rule.interval)
+                    : firstPeriod.plusYears(period * rule.interval);
+            if (emitter.pastEnd(periodStart.atStartOfDay())) {
+                return;
+            }
+            for (LocalDate date : selectSetPos(rule, periodDates(rule, ruleStart.toLocalDate(), periodStart, monthly))) {
+                LocalDateTime occurrence = date.atTime(ruleStart.toLocalTime());
+                if (occurrence.isBefore(ruleStart)) {
+                    continue;
+                }
+                if (!emitter.offer(occurrence)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Candidate dates of one month or year, in order
+    private static List<LocalDate> periodDates(Rule rule, LocalDate startDate, LocalDate periodStart, boolean monthly) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        if (!monthly && rule.byMonth.isEmpty() && rule.byMonthDay.isEmpty() && !rule.byDay.isEmpty()) {
+            // Yearly BYDAY without BYMONTH counts weekdays through the whole year, e.g. 20MO
+            addWeekdays(rule, periodStart, periodStart.plusYears(1).minusDays(1), dates);
+            return new ArrayList<>(dates);
+        }
+        List<YearMonth> months = new ArrayList<>();
+        if (monthly) {
+            if (matchesMonth(rule, periodStart)) {
+                months.add(YearMonth.from(periodStart));
+            }
+        } else if (!rule.byMonth.isEmpty()) {
+            for (int month : rule.byMonth) {
+                months.add(YearMonth.of(periodStart.getYear(), month));
+            }
+        } else if (!rule.byMonthDay.isEmpty()) {
+            for (int month = 1; month <= 12; month++) {
+                months.add(YearMonth.of(periodStart.getYear(), month));
+            }
+        } else {
+            months.add(YearMonth.of(periodStart.getYear(), startDate.getMonth()));
+        }
+
+        for (YearMonth month : months) {
+            if (!rule.byMonthDay.isEmpty()) {
+                for (int day : rule.byMonthDay) {
+                    int resolved = day > 0 ? day : month.lengthOfMonth() + day + 1;
+                    if (resolved >= 1 && resolved <= month.lengthOfMonth()) {
+                        LocalDate date = month.atDay(resolved);
+                        // BYDAY narrows BYMONTHDAY when both are given
+                        if (rule.byDay.isEmpty() || rule.matchesWeekday(date.getDayOfWeek())) {
+                            dates.add(date);
+                        }
+                    }
+                }
+            } else if (!rule.byDay.isEmpty()) {
+                addWeekdays(rule, month.atDay(1), month.atEndOfMonth(), dates);
+            } else if (startDate.getDayOfMonth() <= month.lengthOfMonth()) {
+                // RFC 5545 skips months without DTSTART's day (e.g. the 31st) instead of clamping,
+                // and they do not count towards COUNT
+                dates.add(month.atDay(startDate.getDayOfMonth()));
+            }
+        }
+        return new ArrayList<>(dates);
+    }
+
+    // Adds the BYDAY dates between first and last, taking the nth one where an ordinal is given
+    private static void addWeekdays(Rule rule, LocalDate first, LocalDate last, TreeSet<LocalDate> dates) {
+        for (WeekdayNum entry : rule.byDay) {
+            List<LocalDate> matches = new ArrayList<>();
+            for (LocalDate date = first.with(TemporalAdjusters.nextOrSame(entry.day()));
+                 !date.isAfter(last); date = date.plusWeeks(1)) {
+                matches.add(date);
+            }
+            if (entry.ordinal() == 0) {
+                dates.addAll(matches);
+            } else {
+                int index = entry.ordinal() > 0 ? entry.ordinal() - 1 : matches.size() + entry.ordinal();
+                if (index >= 0 && index < matches.size()) {
+                    dates.add(matches.get(index));
+                }
+            }
+        }
+    }
+
+    private static List<LocalDate> selectSetPos(Rule rule, List<LocalDate> dates) {
+        if (rule.bySetPos.isEmpty()) {
+            return dates;
+        }
+        TreeSet<LocalDate> selected = new TreeSet<>();
+        for (int position : rule.bySetPos) {
+            int index = position > 0 ? position - 1 : dates.size() + position;
+            if (index >= 0 && index < dates.size()) {
+                selected.add(dates.get(index));
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static boolean matchesMonth(Rule rule, LocalDate date) {
+        return rule.byMonth.isEmpty() || rule.byMonth.contains(date.getMonthValue());
+    }
+
+    private static boolean matchesMonthDay(Rule rule, LocalDate date) {
+        int length = date.lengthOfMonth();
+        for (int day : rule.byMonthDay) {
+            if (day == date.getDayOfMonth() || length + day + 1 == date.getDayOfMonth()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Null for rules that cannot be read at all; parts read but not honoured go in unsupported
+    private static Rule parse(String rrule) {
+        Rule rule = new Rule();
+        for (String part : rrule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (key) {
+                    case "FREQ":
+                        rule.freq = value;
+                        break;
+                    case "INTERVAL":
+                        rule.interval = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "COUNT":
+                        rule.count = Integer.parseInt(value);
+                        break;
+                    case "UNTIL":
+                        rule.until = value;
+                        break;
+                    case "WKST":
+                        rule.weekStart = parseWeekday(value);
+                        break;
+                    case "BYDAY":
+                        for (String day : value.split(",")) {
+                            String ordinal = day.substring(0, day.length() - 2);
+                            int n = ordinal.isEmpty() ? 0 : Integer.parseInt(ordinal);
+                            if (Math.abs(n) > 53 || (!ordinal.isEmpty() && n == 0)) {
+                                return null;
+                            }
+                            rule.byDay.add(new WeekdayNum(n, parseWeekday(day.substring(day.length() - 2))));
+                        }
+                        break;
+                    case "BYMONTHDAY":
+                        parseList(value, 31, rule.byMonthDay);
+                        break;
+                    case "BYMONTH":
+                        parseList(value, 12, rule.byMonth);
+                        break;
+                    case "BYSETPOS":
+                        parseList(value, 366, rule.bySetPos);
+                        break;
+                    default:
+                        if (key.startsWith("BY") && rule.unsupported == null) {
+                            rule.unsupported = key;
+                        }
+                        break;
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                return null;
+            }
+        }
+        if (rule.freq == null || !List.of("DAILY", "WEEKLY", "MONTHLY", "YEARLY").contains(rule.freq)) {
+            return null;
+        }
+        for (int month : rule.byMonth) {
+            if (month < 1) {
+                return null;
+            }
+        }
+        return rule;
+    }
+
+    // The BY* parts RFC 5545 allows with this frequency that the expander does not implement
+    private static String unsupportedPart(Rule rule) {
+        switch (rule.freq) {
+            case "DAILY":
+                if (rule.hasOrdinalByDay()) {
+                    return "BYDAY with an ordinal in a DAILY rule";
+                }
+                return rule.bySetPos.isEmpty() ? null : "BYSETPOS in a DAILY rule";
+            case "WEEKLY":
+                if (rule.hasOrdinalByDay()) {
+                    return "BYDAY with an ordinal in a WEEKLY rule";
+                }
+                if (!rule.byMonthDay.isEmpty()) {
+                    return "BYMONTHDAY in a WEEKLY rule";
+                }
+                return rule.bySetPos.isEmpty() ? null : "BYSETPOS in a WEEKLY rule";
+            default:
+                return rule.hasOrdinalByDay() && !rule.byMonthDay.isEmpty()
+                        ? "BYDAY with an ordinal combined with BYMONTHDAY" : null;
+        }
+    }
+
+    // UNTIL in our zone: UTC values are converted, local ones are in DTSTART's zone
+    private static LocalDateTime parseUntil(IcsEventReader.Event event, String until) {
+        if (until == null) {
+            return null;
+        }
+        if (until.endsWith("Z")) {
+            return IcsEventReader.parseDateTime("", until, event.getZone());
+        }
+        try {
+            LocalDateTime local = until.length() > 8 ? IcsEventReader.parseDateTime("", until, event.getZone())
+                    : LocalDate.parse(until, UNTIL_DATE).atTime(23, 59, 59);
+            return local == null ? null : toLocal(event, local);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // A wall-clock time in DTSTART's zone, converted to the zone the event was read into
+    private static LocalDateTime toLocal(IcsEventReader.Event event, LocalDateTime ruleTime) {
+        ZoneId ruleZone = event.getRuleZone();
+        return ruleZone == null ? ruleTime : ruleTime.atZone(ruleZone).withZoneSameInstant(event.getZone()).toLocalDateTime();
+    }
+
+    private static boolean emit(LocalDateTime start, LocalDateTime end, LocalDateTime windowStart,
+                                LocalDateTime windowEnd, List<LocalDateTime> exdates, OccurrenceSink sink) {
+        if (!end.isAfter(windowStart) || !start.isBefore(windowEnd) || exdates.contains(start)) {
+            return false;
+        }
+        sink.accept(start, end);
+        return true;
+    }
+
+    private static void parseList(String value, int max, List<Integer> target) {
+        for (String item : value.split(",")) {
+            int n = Integer.parseInt(item.trim());
+            if (n == 0 || Math.abs(n) > max) {
+                throw new IllegalArgumentException("Out of range: " + item);
+            }
+            target.add(n);
+        }
+    }
+
+    private static DayOfWeek parseWeekday(String code) {
+        switch (code) {
+            case "MO": return DayOfWeek.MONDAY;
+            case "TU": return DayOfWeek.TUESDAY;
+            case "WE": return DayOfWeek.WEDNESDAY;
+            case "TH": return DayOfWeek.THURSDAY;
+            case "FR": return DayOfWeek.FRIDAY;
+            case "SA": return DayOfWeek.SATURDAY;
+            case "SU": return DayOfWeek.SUNDAY;
+            default: throw new IllegalArgumentException("Unknown weekday: " + code);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.marketplace.util;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import com.marketplace.dto.SlotDto;
+import com.marketplace.model.Availability;
+
+/**
+ * Splits working windows into bookable sub-slots.
+ *
+ * Times are handled as minute-of-day ints and occupied intervals are passed as a
+ * flat [start0, end0, start1, end1, ...] buffer so callers can reuse one array for
+ * every window; the only allocations are the emitted slots themselves.
+ */
+public final class SlotGenerator {
+
+    public static final int MIN_SLOT_MINUTES = 15;
+
+    private SlotGenerator() {
+    }
+
+    public static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // Rounds partial minutes up, so imported busy time ending 23:59:59 covers the whole day
+    public static int toEndMinutes(LocalTime time) {
+        return time.getSecond() > 0 || time.getNano() > 0 ? toMinutes(time) + 1 : toMinutes(time);
+    }
+
+    public static LocalTime fromMinutes(int minutes) {
+        return LocalTime.of(minutes / 60, minutes % 60);
+    }
+
+    // Grows the flat interval buffer so it can hold at least {@code pairs} intervals
+    public static int[] ensureCapacity(int[] buffer, int pairs) {
+        return 2 * pairs > buffer.length ? Arrays.copyOf(buffer, Math.max(2 * pairs, buffer.length * 2)) : buffer;
+    }
+
+    /**
+     * Sorts the first {@code count} pairs by start minute. Insertion sort, since callers
+     * merge two already-sorted runs of a handful of intervals per day.
+     */
+    public static void sortIntervals(int[] buffer, int count) {
+        for (int i = 1; i < count; i++) {
+            int start = buffer[2 * i];
+            int end = buffer[2 * i + 1];
+            int j = i - 1;
+            while (j >= 0 && buffer[2 * j] > start) {
+                buffer[2 * j + 2] = buffer[2 * j];
+                buffer[2 * j + 3] = buffer[2 * j + 1];
+                j--;
+            }
+            buffer[2 * j + 2] = start;
+            buffer[2 * j + 3] = end;
+        }
+    }
+
+    public static boolean overlapsAny(int[] buffer, int count, int start, int end) {
+        for (int i = 0; i < count; i++) {
+            if (buffer[2 * i] < end && buffer[2 * i + 1] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Emits the free sub-slots of a window into {@code out}.
+     *
+     * @param window         the working window (must have a slot duration)
+     * @param occupied       flat [start, end) minute pairs, sorted by start
+     * @param occupiedCount  number of pairs in {@code occupied}
+     * @param notBefore      sub-slots starting before this minute-of-day are skipped
+     *                       (used for today's date), pass -1 to keep all
+     * @param out            receives the generated slots
+     */
+    public static void expand(Availability window, int[] occupied, int occupiedCount,
+                              int notBefore, List<SlotDto> out) {
+        int duration = window.getSlotDurationMinutes();
+        int step = duration + window.getBufferMinutesOrZero();
+        int windowEnd = toMinutes(window.getEndTime());
+        int k = 0;
+
+        for (int start = toMinutes(window.getStartTime()); start + duration <= windowEnd; start += step) {
+            int end = start + duration;
+            if (start < notBefore) {
+                continue;
+            }
+
+            // Intervals ending before this sub-slot can never overlap a later one
+            while (k < occupiedCount && occupied[2 * k + 1] <= start) {
+                k++;
+            }
+
+            boolean free = true;
+            for (int j = k; j < occupiedCount && occupied[2 * j] < end; j++) {
+                if (occupied[2 * j + 1] > start) {
+                    free = false;
+                    break;
+                }
+            }
+
+            if (free) {
+                out.add(new SlotDto(window.getId(), window.getDate(),
+                        fromMinutes(start), fromMinutes(end), true));
+            }
+        }
+    }
+
+    /**
+     * Checks that {@code start} is one of the sub-slot starts of the window and
+     * returns the matching end time, or null when it is not on the slot grid.
+     */
+    public static LocalTime slotEndFor(Availability window, LocalTime start) {
+        int duration = window.getSlotDurationMinutes();
+        int step = duration + window.getBufferMinutesOrZero();
+        int windowStart = toMinutes(window.getStartTime());
+        int offset = toMinutes(start) - windowStart;
+
+        if (start.getSecond() != 0 || offset < 0 || offset % step != 0) {
+            return null;
+        }
+        int end = windowStart + offset + duration;
+        if (end > toMinutes(window.getEndTime())) {
+            return null;
+        }
+        return fromMinutes(end);
+    }
+}
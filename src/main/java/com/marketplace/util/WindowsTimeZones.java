@@ -0,0 +1,118 @@
+package com.marketplace.util;
+
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the Windows time zone names Outlook and Exchange put in TZID (e.g.
+ * "Pacific Standard Time") to IANA zones, using the CLDR windowsZones mapping for
+ * the default territory. Display names such as "(UTC+01:00) Amsterdam, Berlin" that
+ * are not in the table fall back to their fixed offset.
+ */
+final class WindowsTimeZones {
+
+    private static final Pattern DISPLAY_OFFSET = Pattern.compile("^\\(UTC(?:([+-])(\\d{2}):(\\d{2}))?\\)");
+
+    private static final Map<String, String> ZONES = Map.ofEntries(
+            Map.entry("dateline standard time", "Etc/GMT+12"),
+            Map.entry("utc-11", "Etc/GMT+11"),
+            Map.entry("hawaiian standard time", "Pacific/Honolulu"),
+            Map.entry("alaskan standard time", "America/Anchorage"),
+            Map.entry("pacific standard time (mexico)", "America/Tijuana"),
+            Map.entry("pacific standard time", "America/Los_Angeles"),
+            Map.entry("us mountain standard time", "America/Phoenix"),
+            Map.entry("mountain standard time (mexico)", "America/Mazatlan"),
+            Map.entry("mountain standard time", "America/Denver"),
+            Map.entry("central america standard time", "America/Guatemala"),
+            Map.entry("central standard time (mexico)", "America/Mexico_City"),
+            Map.entry("central standard time", "America/Chicago"),
+            Map.entry("canada central standard time", "America/Regina"),
+            Map.entry("sa pacific standard time", "America/Bogota"),
+            Map.entry("eastern standard time (mexico)", "America/Cancun"),
+            Map.entry("eastern standard time", "America/New_York"),
+            Map.entry("us eastern standard time", "America/Indianapolis"),
+            Map.entry("venezuela standard time", "America/Caracas"),
+            Map.entry("atlantic standard time", "America/Halifax"),
+            Map.entry("sa western standard time", "America/La_Paz"),
+            Map.entry("pacific sa standard time", "America/Santiago"),
+            Map.entry("newfoundland standard time", "America/St_Johns"),
+            Map.entry("e. south america standard time", "America/Sao_Paulo"),
+            Map.entry("argentina standard time", "America/Buenos_Aires"),
+            Map.entry("sa eastern standard time", "America/Cayenne"),
+            Map.entry("greenland standard time", "America/Godthab"),
+            Map.entry("utc-02", "Etc/GMT+2"),
+            Map.entry("azores standard time", "Atlantic/Azores"),
+            Map.entry("cape verde standard time", "Atlantic/Cape_Verde"),
+            Map.entry("utc", "Etc/UTC"),
+            Map.entry("gmt standard time", "Europe/London"),
+            Map.entry("greenwich standard time", "Atlantic/Reykjavik"),
+            Map.entry("morocco standard time", "Africa/Casablanca"),
+            Map.entry("w. europe standard time", "Europe/Berlin"),
+            Map.entry("central europe standard time", "Europe/Budapest"),
+            Map.entry("romance standard time", "Europe/Paris"),
+            Map.entry("central european standard time", "Europe/Warsaw"),
+            Map.entry("w. central africa standard time", "Africa/Lagos"),
+            Map.entry("gtb standard time", "Europe/Bucharest"),
+            Map.entry("e. europe standard time", "Europe/Chisinau"),
+            Map.entry("fle standard time", "Europe/Kiev"),
+            Map.entry("egypt standard time", "Africa/Cairo"),
+            Map.entry("south africa standard time", "Africa/Johannesburg"),
+            Map.entry("israel standard time", "Asia/Jerusalem"),
+            Map.entry("turkey standard time", "Europe/Istanbul"),
+            Map.entry("jordan standard time", "Asia/Amman"),
+            Map.entry("arabic standard time", "Asia/Baghdad"),
+            Map.entry("arab standard time", "Asia/Riyadh"),
+            Map.entry("russian standard time", "Europe/Moscow"),
+            Map.entry("e. africa standard time", "Africa/Nairobi"),
+            Map.entry("iran standard time", "Asia/Tehran"),
+            Map.entry("arabian standard time", "Asia/Dubai"),
+            Map.entry("afghanistan standard time", "Asia/Kabul"),
+            Map.entry("pakistan standard time", "Asia/Karachi"),
+            Map.entry("west asia standard time", "Asia/Tashkent"),
+            Map.entry("india standard time", "Asia/Calcutta"),
+            Map.entry("sri lanka standard time", "Asia/Colombo"),
+            Map.entry("nepal standard time", "Asia/Katmandu"),
+            Map.entry("central asia standard time", "Asia/Almaty"),
+            Map.entry("bangladesh standard time", "Asia/Dhaka"),
+            Map.entry("myanmar standard time", "Asia/Rangoon"),
+            Map.entry("se asia standard time", "Asia/Bangkok"),
+            Map.entry("china standard time", "Asia/Shanghai"),
+            Map.entry("singapore standard time", "Asia/Singapore"),
+            Map.entry("taipei standard time", "Asia/Taipei"),
+            Map.entry("w. australia standard time", "Australia/Perth"),
+            Map.entry("tokyo standard time", "Asia/Tokyo"),
+            Map.entry("korea standard time", "Asia/Seoul"),
+            Map.entry("cen. australia standard time", "Australia/Adelaide"),
+            Map.entry("aus central standard time", "Australia/Darwin"),
+            Map.entry("e. australia standard time", "Australia/Brisbane"),
+            Map.entry("aus eastern standard time", "Australia/Sydney"),
+            Map.entry("tasmania standard time", "Australia/Hobart"),
+            Map.entry("west pacific standard time", "Pacific/Port_Moresby"),
+            Map.entry("central pacific standard time", "Pacific/Guadalcanal"),
+            Map.entry("new zealand standard time", "Pacific/Auckland"),
+            Map.entry("utc+12", "Etc/GMT-12"),
+            Map.entry("fiji standard time", "Pacific/Fiji"),
+            Map.entry("tonga standard time", "Pacific/Tongatapu"));
+
+    private WindowsTimeZones() {
+    }
+
+    /**
+     * The zone for a Windows zone or display name, or null when it is not recognised.
+     */
+    static ZoneId lookup(String tzid) {
+        String zone = ZONES.get(tzid.trim().toLowerCase(Locale.ROOT));
+        if (zone != null) {
+            return ZoneId.of(zone);
+        }
+        Matcher matcher = DISPLAY_OFFSET.matcher(tzid.trim());
+        if (matcher.find()) {
+            return matcher.group(1) == null ? ZoneId.of("UTC") : ZoneId.of("UTC" + matcher.group(1)
+                    + matcher.group(2) + ":" + matcher.group(3));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,70 @@
+// Live booking status updates pushed over STOMP (see WebSocketConfig).
+// Rows carry data-booking-id, their status badge data-booking-status and any
+// action that only applies to some statuses data-requires-status="PENDING CONFIRMED".
+const BookingUpdates = (function() {
+    const LABELS = {
+        PENDING: 'Pending',
+        CONFIRMED: 'Confirmed',
+        COMPLETED: 'Completed',
+        CANCELLED: 'Cancelled',
+        REJECTED: 'Rejected'
+    };
+
+    function init(options) {
+        if (typeof StompJs === 'undefined') {
+            return;
+        }
+        const scheme = window.location.protocol === 'https:' ? 'wss://' : 'ws://';
+        const client = new StompJs.Client({
+            brokerURL: scheme + window.location.host + '/ws',
+            reconnectDelay: 5000
+        });
+        client.onConnect = function() {
+            client.subscribe('/user/queue/bookings', function(frame) {
+                applyUpdate(JSON.parse(frame.body), options);
+            });
+        };
+        client.activate();
+    }
+
+    function applyUpdate(update, options) {
+        const row = document.querySelector('[data-booking-id="' + update.bookingId + '"]');
+        if (!row) {
+            // Not on this page yet, e.g. a new request; offer a reload rather than rebuild the list
+            showNotice(update, options);
+            return;
+        }
+
+        const badge = row.querySelector('[data-booking-status]');
+        if (badge) {
+            const span = document.createElement('span');
+            span.className = 'badge ' + (options.badgeClasses[update.toStatus] || 'bg-secondary');
+            span.textContent = LABELS[update.toStatus] || update.toStatus;
+            badge.replaceChildren(span);
+            badge.setAttribute('data-booking-status', update.toStatus);
+        }
+
+        row.querySelectorAll('[data-requires-status]').forEach(function(element) {
+            const allowed = element.getAttribute('data-requires-status').split(' ');
+            element.classList.toggle('d-none', allowed.indexOf(update.toStatus) === -1);
+        });
+    }
+
+    function showNotice(update, options) {
+        const container = document.getElementById('bookingUpdates');
+        if (!container || container.childElementCount > 0) {
+            return;
+        }
+        const alert = document.createElement('div');
+        alert.className = 'alert alert-info d-flex justify-content-between align-items-center';
+        alert.textContent = update.eventType === 'BOOKING_CREATED' ? options.createdMessage : 'Your bookings have changed.';
+        const link = document.createElement('a');
+        link.href = window.location.href;
+        link.className = 'btn btn-sm btn-outline-primary';
+        link.textContent = 'Refresh';
+        alert.appendChild(link);
+        container.appendChild(alert);
+    }
+
+    return { init: init };
+})();
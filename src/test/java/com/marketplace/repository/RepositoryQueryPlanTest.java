@@ -0,0 +1,258 @@
+package com.marketplace.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.model.Availability;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.Review;
+import com.marketplace.model.Role;
+import com.marketplace.model.ServiceCategory;
+import com.marketplace.model.User;
+
+/**
+ * Calls every query method declared on the booking, availability, review and professional
+ * profile repositories, then has the embedded database EXPLAIN each statement that ran
+ * and fails if any of them scans a whole table. Queries that are unbounded by design are
+ * listed in ALLOWED_SCANS with the reason.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.marketplace.repository.RecordingStatementInspector")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryQueryPlanTest.class);
+
+    private static final Map<String, String> ALLOWED_SCANS = Map.of(
+            // Every filter is optional and city is a substring match, so the unfiltered browse
+            // reads all profiles by design; narrowing it needs a search index, not a B-tree
+            "ProfessionalProfileRepository.findProfessionalsByFilters", "optional filters and LIKE '%city%'");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private ProfessionalProfileRepository profileRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ServiceCategoryRepository categoryRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User client;
+    private ProfessionalProfile professional;
+    private Availability availability;
+    private Booking booking;
+
+    @BeforeEach
+    void createFixture() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            client = userRepository.save(new User("Plan Client", "planclient", "plan.client@example.com",
+                    "password", Role.CLIENT));
+            User proUser = userRepository.save(new User("Plan Pro", "planpro", "plan.pro@example.com",
+                    "password", Role.PROFESSIONAL));
+            ServiceCategory category = new ServiceCategory();
+            category.setName("Plans");
+            category = categoryRepository.save(category);
+            ProfessionalProfile profile = new ProfessionalProfile();
+            profile.setUser(proUser);
+            profile.setBio("Query plan professional");
+            profile.setCategory(category);
+            professional = profileRepository.save(profile);
+            LocalTime start = LocalTime.of(9, 0);
+            availability = availabilityRepository.save(new Availability(professional, LocalDate.now().plusDays(1),
+                    start, start.plusHours(1)));
+            booking = bookingRepository.save(new Booking(client, professional, availability, null));
+            reviewRepository.save(new Review(professional, client, booking, 5, "Query plan review"));
+        });
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        List<String> violations = new ArrayList<>();
+        for (Class<?> repository : List.of(BookingRepository.class, AvailabilityRepository.class,
+                ReviewRepository.class, ProfessionalProfileRepository.class)) {
+            Object bean = beanFor(repository);
+            for (Method method : repository.getDeclaredMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+                    continue;
+                }
+                String name = repository.getSimpleName() + "." + method.getName();
+                for (String sql : run(bean, method)) {
+                    String plan = explain(sql);
+                    logger.info("{}:\n{}", name, plan);
+                    if (plan.contains(".tableScan") && !ALLOWED_SCANS.containsKey(name)) {
+                        violations.add(name + " scans a table:\n" + plan);
+                    }
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), String.join("\n\n", violations));
+    }
+
+    private Object beanFor(Class<?> repository) {
+        if (repository == BookingRepository.class) {
+            return bookingRepository;
+        }
+        if (repository == AvailabilityRepository.class) {
+            return availabilityRepository;
+        }
+        if (repository == ReviewRepository.class) {
+            return reviewRepository;
+        }
+        return profileRepository;
+    }
+
+    // Invokes the method in a transaction that is rolled back, returning the statements it ran
+    private List<String> run(Object bean, Method method) {
+        RecordingStatementInspector.drain();
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            try {
+                Object result = method.invoke(bean, arguments(method));
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.forEach(row -> { });
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Calling " + method.getName() + " failed", e.getCause());
+            }
+        });
+        List<String> statements = new ArrayList<>();
+        for (String sql : RecordingStatementInspector.drain()) {
+            String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete")) {
+                statements.add(sql);
+            }
+        }
+        return statements;
+    }
+
+    private Object[] arguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = sampleValue(types[i], method);
+        }
+        return args;
+    }
+
+    private Object sampleValue(Type type, Method method) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            if (element == BookingStatus.class) {
+                return BookingStatus.ACTIVE;
+            }
+            if (element == LocalDate.class) {
+                return List.of(availability.getDate(), availability.getDate().plusWeeks(1));
+            }
+            return List.of(booking.getId(), availability.getId());
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Long.class || raw == long.class) {
+            return booking.getId();
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return 1;
+        }
+        if (raw == Double.class || raw == double.class) {
+            return 4.0;
+        }
+        if (raw == String.class) {
+            return "plan";
+        }
+        if (raw == LocalDate.class) {
+            return availability.getDate();
+        }
+        if (raw == LocalTime.class) {
+            return availability.getStartTime();
+        }
+        if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (raw == BookingStatus.class) {
+            return BookingStatus.PENDING;
+        }
+        if (raw == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (raw == User.class) {
+            return client;
+        }
+        if (raw == ProfessionalProfile.class) {
+            return professional;
+        }
+        if (raw == Booking.class) {
+            return booking;
+        }
+        if (raw == Availability.class) {
+            return availability;
+        }
+        throw new IllegalStateException("No sample value for " + type + " in " + method.getName());
+    }
+
+    // The plan does not depend on the values, so every parameter is bound to NULL
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.marketplace.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps a DataSource and counts the statements prepared on the current thread, whether
+ * Hibernate or a JdbcTemplate issues them, so tests measure round trips instead of
+ * assuming the ones Hibernate statistics cannot see.
+ */
+public final class StatementCountingDataSource {
+
+    private static final ThreadLocal<long[]> counter = new ThreadLocal<>();
+
+    private StatementCountingDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? countingConnection(connection) : result;
+                });
+    }
+
+    // Starts counting statements prepared by the calling thread
+    public static void start() {
+        counter.set(new long[1]);
+    }
+
+    // Stops counting on the calling thread and returns how many statements it prepared
+    public static long stop() {
+        long[] count = counter.get();
+        counter.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    private static Connection countingConnection(Connection target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall") || name.equals("createStatement")) {
+                long[] count = counter.get();
+                if (count != null) {
+                    count[0]++;
+                }
+            }
+            return invoke(target, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.marketplace.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marketplace.dto.BookingDto;
+import com.marketplace.exception.SlotNotAvailableException;
+import com.marketplace.model.Availability;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.Role;
+import com.marketplace.model.ServiceCategory;
+import com.marketplace.model.User;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ExternalBusyBlockRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.ServiceCategoryRepository;
+import com.marketplace.repository.StatementCountingDataSource;
+import com.marketplace.repository.UserRepository;
+
+/**
+ * Compares JDBC round trips and latency of the booking hot path against the previous
+ * implementation (profile lookup, slot lookup, busy-time check, reserve UPDATE, INSERTs).
+ * Statements are counted at the DataSource, so the JdbcTemplate insert is measured along
+ * with Hibernate's. Runs against in-memory H2, so absolute latencies are lower than on
+ * MySQL; the statement count is what carries over and is what the test asserts, while
+ * latencies are only logged.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingCreationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingCreationBenchmarkTest.class);
+    private static final int WARMUP = 100;
+    private static final int ITERATIONS = 400;
+    private static final int SLOTS_PER_DAY = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ServiceCategoryRepository categoryRepository;
+    @Autowired
+    private ProfessionalProfileRepository profileRepository;
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ExternalBusyBlockRepository busyBlockRepository;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void singleRoundTripPathReducesStatementsPerBooking() {
+        User client = userRepository.save(new User("Bench Client", "benchclient", "bench.client@example.com",
+                "password", Role.CLIENT));
+        User proUser = userRepository.save(new User("Bench Pro", "benchpro", "bench.pro@example.com",
+                "password", Role.PROFESSIONAL));
+        ServiceCategory category = new ServiceCategory();
+        category.setName("Benchmark");
+        category = categoryRepository.save(category);
+        ProfessionalProfile profile = new ProfessionalProfile();
+        profile.setUser(proUser);
+        profile.setBio("Benchmark professional");
+        profile.setCategory(category);
+        profile = profileRepository.save(profile);
+
+        List<Long> slots = createSlots(profile, 2 * (WARMUP + ITERATIONS));
+        List<Long> previousSlots = slots.subList(0, WARMUP + ITERATIONS);
+        List<Long> currentSlots = slots.subList(WARMUP + ITERATIONS, slots.size());
+        Long professionalId = profile.getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Result previous = measure("previous", previousSlots,
+                slotId -> tx.executeWithoutResult(status -> previousCreateBooking(client, professionalId, slotId)));
+        Result current = measure("current", currentSlots,
+                slotId -> bookingService.createBooking(client, bookingDto(professionalId, slotId)));
+
+        assertTrue(current.statementsPerBooking <= 4.0,
+                "Expected SELECT + UPDATE + booking and outbox INSERTs, got " + current.statementsPerBooking);
+        assertTrue(current.statementsPerBooking < previous.statementsPerBooking);
+        // Wall-clock latency on a shared machine is too noisy to gate the build on; report it only
+        logger.info("Booking path p50 {} us vs {} us previously, p99 {} us vs {} us",
+                current.p50Micros, previous.p50Micros, current.p99Micros, previous.p99Micros);
+    }
+
+    // The booking path as it was before the fetch-join rewrite
+    private void previousCreateBooking(User client, Long professionalId, Long slotId) {
+        ProfessionalProfile professional = profileRepository.findById(professionalId).orElseThrow();
+        Availability availability = availabilityRepository.findById(slotId).orElseThrow();
+        if (professional.getUser().getId().equals(client.getId())
+                || !availability.getProfessional().getId().equals(professional.getId())
+                || availability.isBooked()) {
+            throw new IllegalStateException("Invalid benchmark fixture");
+        }
+        if (busyBlockRepository.existsOverlapping(professional, availability.getDate(),
+                availability.getStartTime(), availability.getEndTime())) {
+            throw new SlotNotAvailableException("busy");
+        }
+        if (availabilityRepository.markAsBookedIfAvailable(slotId, null, LocalDateTime.now()) == 0) {
+            throw new SlotNotAvailableException("taken");
+        }
+        Booking booking = bookingRepository.save(new Booking(client, professional, availability, null));
+        // Both paths write the domain event, so the comparison stays about the reads
+        outboxService.publishBookingStatusChange(booking.getId(), client.getId(), professionalId,
+                null, booking.getStatus(), client.getId());
+    }
+
+    private Result measure(String label, List<Long> slotIds, Consumer<Long> createBooking) {
+        for (int i = 0; i < WARMUP; i++) {
+            createBooking.accept(slotIds.get(i));
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        StatementCountingDataSource.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            createBooking.accept(slotIds.get(WARMUP + i));
+            latencies[i] = System.nanoTime() - start;
+        }
+        double statementsPerBooking = (double) StatementCountingDataSource.stop() / ITERATIONS;
+
+        Arrays.sort(latencies);
+        Result result = new Result(statementsPerBooking, percentileMicros(latencies, 50), percentileMicros(latencies, 99));
+        logger.info("{} booking path: {} statements/booking, p50 {} us, p99 {} us",
+                label, result.statementsPerBooking, result.p50Micros, result.p99Micros);
+        return result;
+    }
+
+    private List<Long> createSlots(ProfessionalProfile profile, int count) {
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<Availability> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * (i % SLOTS_PER_DAY));
+            slots.add(new Availability(profile, firstDay.plusDays(i / SLOTS_PER_DAY), start, start.plusMinutes(30)));
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (Availability slot : availabilityRepository.saveAll(slots)) {
+            ids.add(slot.getId());
+        }
+        return ids;
+    }
+
+    private static BookingDto bookingDto(Long professionalId, Long availabilityId) {
+        BookingDto dto = new BookingDto();
+        dto.setProfessionalId(professionalId);
+        dto.setAvailabilityId(availabilityId);
+        return dto;
+    }
+
+    private static long percentileMicros(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1000;
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementCountingDataSource.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private record Result(double statementsPerBooking, long p50Micros, long p99Micros) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.marketplace.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.marketplace.dto.BookingDto;
+import com.marketplace.dto.BookingSeriesResult;
+import com.marketplace.dto.BulkActionResult;
+import com.marketplace.enums.BookingStatus;
+import com.marketplace.exception.SlotNotAvailableException;
+import com.marketplace.model.Availability;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.Role;
+import com.marketplace.model.ServiceCategory;
+import com.marketplace.model.User;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.BookingSeriesRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.ServiceCategoryRepository;
+import com.marketplace.repository.UserRepository;
+
+/**
+ * Books weekly series against H2 where some weeks are missing, taken, or collide with an
+ * overlapping booking, then checks which weeks were booked and that every slot's is_booked
+ * flag agrees with its active bookings, including after the whole series rolls back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingSeriesTest {
+
+    private static final AtomicInteger fixtures = new AtomicInteger();
+    private static final LocalTime START = LocalTime.of(10, 0);
+    private static final LocalTime END = LocalTime.of(11, 0);
+
+    private record Fixture(User client, User other, ProfessionalProfile professional, LocalDate firstDay) {
+    }
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ServiceCategoryRepository categoryRepository;
+    @Autowired
+    private ProfessionalProfileRepository profileRepository;
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSeriesRepository seriesRepository;
+
+    @Test
+    void bookableWeeksAreBookedAndTheRestReported() {
+        Fixture fixture = fixture();
+        LocalDate day = fixture.firstDay();
+        Availability first = slot(fixture, day, START, END);
+        // No slot in week two
+        Availability taken = slot(fixture, day.plusWeeks(2), START, END);
+        Availability last = slot(fixture, day.plusWeeks(3), START, END);
+        bookingService.createBooking(fixture.other(), request(fixture, taken));
+
+        BookingSeriesResult result = bookingService.createSeries(fixture.client(), request(fixture, first), 4);
+
+        assertNotNull(result.getSeries());
+        assertEquals(List.of(day, day.plusWeeks(3)),
+                result.getBooked().stream().map(Booking::getBookingDate).toList());
+        assertEquals(List.of(day.plusWeeks(1), day.plusWeeks(2)), List.copyOf(result.getSkipped().keySet()));
+        assertTrue(availabilityRepository.findById(first.getId()).orElseThrow().isBooked());
+        assertTrue(availabilityRepository.findById(last.getId()).orElseThrow().isBooked());
+        verifySlots(fixture);
+    }
+
+    @Test
+    void weekRefusedByOverlapGuardReleasesItsSlot() {
+        Fixture fixture = fixture();
+        LocalDate day = fixture.firstDay();
+        Availability first = slot(fixture, day, START, END);
+        Availability second = slot(fixture, day.plusWeeks(1), START, END);
+        // A different slot whose booking overlaps week two, so the slot reserve succeeds but the insert is refused
+        Availability overlapping = slot(fixture, day.plusWeeks(1), START.plusMinutes(30), END.plusMinutes(30));
+        bookingService.createBooking(fixture.other(), request(fixture, overlapping));
+
+        BookingSeriesResult result = bookingService.createSeries(fixture.client(), request(fixture, first), 2);
+
+        assertEquals(1, result.getBooked().size());
+        assertTrue(result.getSkipped().containsKey(day.plusWeeks(1)));
+        assertFalse(availabilityRepository.findById(second.getId()).orElseThrow().isBooked(),
+                "Slot refused by the overlap guard was left booked");
+        verifySlots(fixture);
+    }
+
+    @Test
+    void seriesWithNoBookableWeekRollsBack() {
+        Fixture fixture = fixture();
+        LocalDate day = fixture.firstDay();
+        Availability first = slot(fixture, day, START, END);
+        Availability second = slot(fixture, day.plusWeeks(1), START, END);
+        bookingService.createBooking(fixture.other(), request(fixture,
+                slot(fixture, day, START.minusMinutes(30), END.minusMinutes(30))));
+        bookingService.createBooking(fixture.other(), request(fixture,
+                slot(fixture, day.plusWeeks(1), START.plusMinutes(30), END.plusMinutes(30))));
+
+        assertThrows(SlotNotAvailableException.class,
+                () -> bookingService.createSeries(fixture.client(), request(fixture, first), 2));
+
+        assertTrue(seriesRepository.findAll().stream()
+                .noneMatch(series -> series.getClient().getId().equals(fixture.client().getId())));
+        assertTrue(bookingRepository.findAll().stream()
+                .noneMatch(booking -> booking.getClient().getId().equals(fixture.client().getId())));
+        assertFalse(availabilityRepository.findById(first.getId()).orElseThrow().isBooked());
+        assertFalse(availabilityRepository.findById(second.getId()).orElseThrow().isBooked());
+        verifySlots(fixture);
+    }
+
+    @Test
+    void cancelSeriesCancelsUpcomingBookingsAndFreesTheirSlots() {
+        Fixture fixture = fixture();
+        LocalDate day = fixture.firstDay();
+        Availability first = slot(fixture, day, START, END);
+        slot(fixture, day.plusWeeks(1), START, END);
+        slot(fixture, day.plusWeeks(2), START, END);
+        BookingSeriesResult created = bookingService.createSeries(fixture.client(), request(fixture, first), 3);
+        Long seriesId = created.getSeries().getId();
+        // Already cancelled on its own, so the series cancel reports it instead of touching it again
+        bookingService.cancelBooking(created.getBooked().get(0).getId(), fixture.client());
+
+        BulkActionResult result = bookingService.cancelSeries(seriesId, fixture.client());
+
+        assertEquals(2, result.getApplied().size());
+        assertEquals(List.of(created.getBooked().get(0).getId()), List.copyOf(result.getSkipped().keySet()));
+        assertNotNull(seriesRepository.findById(seriesId).orElseThrow().getCancelledAt());
+        for (Booking booking : bookingRepository.findAllWithAvailabilityBySeriesId(seriesId)) {
+            assertEquals(BookingStatus.CANCELLED, booking.getStatus());
+            assertFalse(booking.getAvailability().isBooked());
+        }
+        assertTrue(bookingService.getActiveSeries(fixture.client()).isEmpty());
+        verifySlots(fixture);
+    }
+
+    private Fixture fixture() {
+        int n = fixtures.incrementAndGet();
+        User client = userRepository.save(new User("Series Client " + n, "seriesclient" + n,
+                "series.client" + n + "@example.com", "password", Role.CLIENT));
+        User other = userRepository.save(new User("Series Other " + n, "seriesother" + n,
+                "series.other" + n + "@example.com", "password", Role.CLIENT));
+        User proUser = userRepository.save(new User("Series Pro " + n, "seriespro" + n,
+                "series.pro" + n + "@example.com", "password", Role.PROFESSIONAL));
+        ServiceCategory category = new ServiceCategory();
+        category.setName("Series test " + n);
+        category = categoryRepository.save(category);
+        ProfessionalProfile profile = new ProfessionalProfile();
+        profile.setUser(proUser);
+        profile.setBio("Series test professional");
+        profile.setCategory(category);
+        return new Fixture(client, other, profileRepository.save(profile), LocalDate.now().plusDays(7));
+    }
+
+    private Availability slot(Fixture fixture, LocalDate date, LocalTime start, LocalTime end) {
+        return availabilityRepository.save(new Availability(fixture.professional(), date, start, end));
+    }
+
+    private static BookingDto request(Fixture fixture, Availability slot) {
+        BookingDto dto = new BookingDto();
+        dto.setProfessionalId(fixture.professional().getId());
+        dto.setAvailabilityId(slot.getId());
+        dto.setServiceDetails("Weekly session");
+        return dto;
+    }
+
+    // Every plain slot is booked exactly when it has an active booking
+    private void verifySlots(Fixture fixture) {
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getProfessional().getId().equals(fixture.professional().getId()))
+                .toList();
+        for (Availability slot : availabilityRepository.findByProfessionalOrderByDateAscStartTimeAsc(fixture.professional())) {
+            long active = bookings.stream()
+                    .filter(booking -> booking.getAvailability().getId().equals(slot.getId()))
+                    .filter(booking -> booking.getStatus().isActive())
+                    .count();
+            assertTrue(active <= 1, "Slot " + slot.getId() + " has " + active + " active bookings");
+            assertEquals(active > 0, slot.isBooked(),
+                    "Slot " + slot.getId() + " is_booked disagrees with its " + active + " active bookings");
+        }
+    }
+}
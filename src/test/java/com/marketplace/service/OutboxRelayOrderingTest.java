@@ -0,0 +1,114 @@
+package com.marketplace.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.marketplace.enums.OutboxEventType;
+import com.marketplace.model.OutboxEvent;
+import com.marketplace.service.impl.OutboxRelay;
+
+/**
+ * A transaction that publishes first but commits last holds the lower event id. The relay
+ * must still deliver its event after having delivered the higher id that committed first.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayOrderingTest {
+
+    private static final long SLOW_AGGREGATE = -101L;
+    private static final long FAST_AGGREGATE = -102L;
+
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private RecordingSubscriber recorder;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void lowerIdCommittedLaterIsStillDelivered() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        relay.relay();
+
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            publish(SLOW_AGGREGATE);
+            published.countDown();
+            await(commit);
+        }));
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+
+        tx.executeWithoutResult(status -> publish(FAST_AGGREGATE));
+        relay.relay();
+        assertEquals(List.of(FAST_AGGREGATE), recorder.received);
+
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        relay.relay();
+        assertEquals(List.of(FAST_AGGREGATE, SLOW_AGGREGATE), recorder.received);
+
+        // Redelivery of either would show up here; the offsets are past both
+        relay.relay();
+        assertEquals(2, recorder.received.size());
+    }
+
+    private void publish(long aggregateId) {
+        outboxService.publish(OutboxEventType.PROFILE_UPDATED, aggregateId, Map.of("marker", aggregateId));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+
+        private final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "ordering-test";
+        }
+
+        @Override
+        public boolean accepts(OutboxEvent event) {
+            return event.getAggregateId() == SLOW_AGGREGATE || event.getAggregateId() == FAST_AGGREGATE;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            received.add(event.getAggregateId());
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
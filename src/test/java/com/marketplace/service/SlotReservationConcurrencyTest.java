@@ -0,0 +1,288 @@
+package com.marketplace.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.marketplace.dto.BookingDto;
+import com.marketplace.exception.BookingException;
+import com.marketplace.exception.UsernameTakenException;
+import com.marketplace.model.Availability;
+import com.marketplace.model.Booking;
+import com.marketplace.model.ProfessionalProfile;
+import com.marketplace.model.Role;
+import com.marketplace.model.ServiceCategory;
+import com.marketplace.model.User;
+import com.marketplace.repository.AvailabilityRepository;
+import com.marketplace.repository.BookingRepository;
+import com.marketplace.repository.ProfessionalProfileRepository;
+import com.marketplace.repository.ServiceCategoryRepository;
+import com.marketplace.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fires thousands of concurrent book, accept, cancel and reject operations from virtual threads
+ * at a handful of slots, then checks that no slot ended up with two active bookings, that
+ * no professional has two active bookings at the same time even across overlapping slots,
+ * and that every plain slot's is_booked flag agrees with its bookings. Refusals the service
+ * raises on purpose (slot taken, wrong status, admission timeout) count as outcomes;
+ * any other exception fails the run. Latencies are from in-memory H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SlotReservationConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationConcurrencyTest.class);
+    private static final int OPERATIONS = 4000;
+    private static final int CLIENTS = 40;
+    private static final int PROFESSIONALS = 2;
+    private static final int PLAIN_SLOTS_PER_PROFESSIONAL = 5;
+    private static final int WINDOW_SLOT_MINUTES = 30;
+    private static final LocalTime WINDOW_START = LocalTime.of(14, 0);
+    private static final LocalTime WINDOW_END = LocalTime.of(16, 0);
+
+    private enum Operation {
+        BOOK, ACCEPT, CANCEL, REJECT
+    }
+
+    private enum Outcome {
+        DONE, REFUSED, CONFLICT, FAILED
+    }
+
+    private record Target(Long professionalId, User professionalUser, Long availabilityId, LocalTime startTime) {
+    }
+
+    private record Placed(Long bookingId, User client, User professionalUser) {
+    }
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ServiceCategoryRepository categoryRepository;
+    @Autowired
+    private ProfessionalProfileRepository profileRepository;
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentBookCancelRejectNeverDoubleBooksASlot() throws InterruptedException {
+        List<User> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(userRepository.save(new User("Load Client " + i, "loadclient" + i,
+                    "load.client" + i + "@example.com", "password", Role.CLIENT)));
+        }
+        ServiceCategory category = new ServiceCategory();
+        category.setName("Load test");
+        category = categoryRepository.save(category);
+
+        LocalDate day = LocalDate.now().plusDays(3);
+        List<Target> targets = new ArrayList<>();
+        List<Long> professionalIds = new ArrayList<>();
+        for (int p = 0; p < PROFESSIONALS; p++) {
+            User proUser = userRepository.save(new User("Load Pro " + p, "loadpro" + p,
+                    "load.pro" + p + "@example.com", "password", Role.PROFESSIONAL));
+            ProfessionalProfile profile = new ProfessionalProfile();
+            profile.setUser(proUser);
+            profile.setBio("Load test professional");
+            profile.setCategory(category);
+            profile = profileRepository.save(profile);
+            professionalIds.add(profile.getId());
+
+            for (int s = 0; s < PLAIN_SLOTS_PER_PROFESSIONAL; s++) {
+                LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * s);
+                Availability slot = availabilityRepository.save(
+                        new Availability(profile, day, start, start.plusMinutes(30)));
+                targets.add(new Target(profile.getId(), proUser, slot.getId(), null));
+            }
+            // A plain slot lying across the first two window sub-slots
+            Availability overlapping = availabilityRepository.save(new Availability(profile, day,
+                    WINDOW_START.plusMinutes(WINDOW_SLOT_MINUTES / 2), WINDOW_START.plusMinutes(WINDOW_SLOT_MINUTES * 3 / 2)));
+            targets.add(new Target(profile.getId(), proUser, overlapping.getId(), null));
+            Availability window = new Availability(profile, day, WINDOW_START, WINDOW_END);
+            window.setSlotDurationMinutes(WINDOW_SLOT_MINUTES);
+            window = availabilityRepository.save(window);
+            for (LocalTime start = WINDOW_START; start.isBefore(WINDOW_END); start = start.plusMinutes(WINDOW_SLOT_MINUTES)) {
+                targets.add(new Target(profile.getId(), proUser, window.getId(), start));
+            }
+        }
+
+        List<Placed> placed = Collections.synchronizedList(new ArrayList<>());
+        Map<Class<?>, Throwable> unexpected = new ConcurrentHashMap<>();
+        long[] latencies = new long[OPERATIONS];
+        Operation[] operations = new Operation[OPERATIONS];
+        AtomicIntegerArray outcomes = new AtomicIntegerArray(Operation.values().length * Outcome.values().length);
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int index = i;
+                executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int roll = random.nextInt(10);
+                    Operation operation = roll < 5 || placed.isEmpty() ? Operation.BOOK
+                            : roll < 7 ? Operation.ACCEPT : roll < 9 ? Operation.CANCEL : Operation.REJECT;
+                    operations[index] = operation;
+                    long opStart = System.nanoTime();
+                    Outcome outcome = run(operation, random, clients, targets, placed, unexpected);
+                    latencies[index] = System.nanoTime() - opStart;
+                    outcomes.incrementAndGet(operation.ordinal() * Outcome.values().length + outcome.ordinal());
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        report(seconds, operations, latencies, outcomes);
+        logger.info("transition conflicts {}, retries {}, exhausted {}", count("booking.transition.conflicts"),
+                count("booking.transition.retries"), count("booking.transition.exhausted"));
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected.values());
+        assertTrue(outcomes.get(Operation.BOOK.ordinal() * Outcome.values().length + Outcome.DONE.ordinal()) > 0,
+                "No booking ever succeeded");
+
+        for (Long professionalId : professionalIds) {
+            verifySlots(professionalId);
+        }
+    }
+
+    private Outcome run(Operation operation, ThreadLocalRandom random, List<User> clients, List<Target> targets,
+                        List<Placed> placed, Map<Class<?>, Throwable> unexpected) {
+        try {
+            switch (operation) {
+                case BOOK -> {
+                    User client = clients.get(random.nextInt(clients.size()));
+                    Target target = targets.get(random.nextInt(targets.size()));
+                    BookingDto dto = new BookingDto();
+                    dto.setProfessionalId(target.professionalId());
+                    dto.setAvailabilityId(target.availabilityId());
+                    dto.setStartTime(target.startTime());
+                    Booking booking = bookingService.createBooking(client, dto);
+                    placed.add(new Placed(booking.getId(), client, target.professionalUser()));
+                }
+                case ACCEPT -> {
+                    Placed booking = pick(placed, random);
+                    bookingService.acceptBooking(booking.bookingId(), booking.professionalUser());
+                }
+                case CANCEL -> {
+                    Placed booking = pick(placed, random);
+                    bookingService.cancelBooking(booking.bookingId(), booking.client());
+                }
+                case REJECT -> {
+                    Placed booking = pick(placed, random);
+                    bookingService.rejectBooking(booking.bookingId(), booking.professionalUser());
+                }
+            }
+            return Outcome.DONE;
+        } catch (BookingException | UsernameTakenException e) {
+            // Slot taken, booking no longer in a state that allows the change, or admission timed out
+            return Outcome.REFUSED;
+        } catch (ConcurrencyFailureException e) {
+            // Rolled back by the database and not retried (lock timeout); the data stays consistent
+            return Outcome.CONFLICT;
+        } catch (RuntimeException e) {
+            unexpected.putIfAbsent(e.getClass(), e);
+            return Outcome.FAILED;
+        }
+    }
+
+    private long count(String meter) {
+        return (long) meterRegistry.find(meter).counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static Placed pick(List<Placed> placed, ThreadLocalRandom random) {
+        synchronized (placed) {
+            return placed.get(random.nextInt(placed.size()));
+        }
+    }
+
+    private void verifySlots(Long professionalId) {
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getProfessional().getId().equals(professionalId))
+                .toList();
+        List<Availability> slots = availabilityRepository.findAll().stream()
+                .filter(slot -> slot.getProfessional().getId().equals(professionalId))
+                .toList();
+        List<Booking> allActive = bookings.stream().filter(booking -> booking.getStatus().isActive()).toList();
+        for (int i = 0; i < allActive.size(); i++) {
+            for (int j = i + 1; j < allActive.size(); j++) {
+                Booking a = allActive.get(i);
+                Booking b = allActive.get(j);
+                assertFalse(a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime()),
+                        "Bookings " + a.getId() + " and " + b.getId() + " of professional " + professionalId + " overlap");
+            }
+        }
+        for (Availability slot : slots) {
+            List<Booking> active = bookings.stream()
+                    .filter(booking -> booking.getAvailability().getId().equals(slot.getId()))
+                    .filter(booking -> booking.getStatus().isActive())
+                    .toList();
+            if (slot.isWindow()) {
+                // Sub-slot overlaps are covered by the professional-wide check above
+                assertFalse(slot.isBooked(), "Window " + slot.getId() + " was marked booked");
+            } else {
+                assertTrue(active.size() <= 1, "Slot " + slot.getId() + " has " + active.size() + " active bookings");
+                assertEquals(!active.isEmpty(), slot.isBooked(),
+                        "Slot " + slot.getId() + " is_booked disagrees with its " + active.size() + " active bookings");
+            }
+        }
+    }
+
+    private static void report(double seconds, Operation[] operations, long[] latencies, AtomicIntegerArray outcomes) {
+        logger.info("{} operations in {} s, {} ops/s", OPERATIONS, String.format("%.2f", seconds),
+                String.format("%.0f", OPERATIONS / seconds));
+        Map<Operation, List<Long>> byOperation = new EnumMap<>(Operation.class);
+        for (int i = 0; i < OPERATIONS; i++) {
+            byOperation.computeIfAbsent(operations[i], key -> new ArrayList<>()).add(latencies[i]);
+        }
+        for (Operation operation : Operation.values()) {
+            long[] sorted = byOperation.getOrDefault(operation, List.of()).stream().mapToLong(Long::longValue).toArray();
+            if (sorted.length == 0) {
+                continue;
+            }
+            Arrays.sort(sorted);
+            int base = operation.ordinal() * Outcome.values().length;
+            logger.info("{}: {} done, {} refused, {} conflicts, {} failed; p50 {} us, p95 {} us, p99 {} us",
+                    operation, outcomes.get(base + Outcome.DONE.ordinal()), outcomes.get(base + Outcome.REFUSED.ordinal()),
+                    outcomes.get(base + Outcome.CONFLICT.ordinal()), outcomes.get(base + Outcome.FAILED.ordinal()), percentileMicros(sorted, 50),
+                    percentileMicros(sorted, 95), percentileMicros(sorted, 99));
+        }
+    }
+
+    private static long percentileMicros(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1000;
+    }
+}
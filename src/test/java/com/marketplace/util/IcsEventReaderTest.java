@@ -0,0 +1,132 @@
+package com.marketplace.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads small hand-written calendars into UTC and checks the event fields that decide busy time.
+ */
+class IcsEventReaderTest {
+
+    // Snapshot of the fields the reader exposes, since its Event holder is reused
+    private record Read(String uid, LocalDateTime start, LocalDateTime end, boolean allDay, boolean busy,
+                        String rrule, List<LocalDateTime> exdates) {
+    }
+
+    @Test
+    void unfoldsContinuationLines() throws IOException {
+        List<Read> events = read(event("UID:first-part\r\n -second-part\r\n\t-third",
+                "DTSTART:20260105T0900\r\n 00Z", "DTEND:20260105T100000Z"));
+
+        assertEquals(1, events.size());
+        assertEquals("first-part-second-part-third", events.get(0).uid());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 9, 0), events.get(0).start());
+    }
+
+    @Test
+    void convertsUtcAndIanaTzid() throws IOException {
+        List<Read> events = read(
+                event("UID:utc", "DTSTART:20260105T090000Z", "DTEND:20260105T100000Z"),
+                event("UID:iana", "DTSTART;TZID=America/New_York:20260105T090000",
+                        "DTEND;TZID=\"America/New_York\":20260105T100000"),
+                event("UID:slash", "DTSTART;TZID=/Europe/Berlin:20260705T090000", "DTEND:20260705T080000Z"));
+
+        assertEquals(LocalDateTime.of(2026, 1, 5, 9, 0), events.get(0).start());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 14, 0), events.get(1).start());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 15, 0), events.get(1).end());
+        assertEquals(LocalDateTime.of(2026, 7, 5, 7, 0), events.get(2).start());
+    }
+
+    @Test
+    void resolvesWindowsTzid() throws IOException {
+        List<Read> events = read(
+                event("UID:winter", "DTSTART;TZID=Pacific Standard Time:20260105T090000", "DURATION:PT1H"),
+                event("UID:summer", "DTSTART;TZID=W. Europe Standard Time:20260706T090000", "DURATION:PT1H"),
+                event("UID:display", "DTSTART;TZID=\"(UTC+05:30) Chennai, Kolkata, Mumbai, New Delhi\":20260105T090000",
+                        "DURATION:PT1H"));
+
+        assertEquals(LocalDateTime.of(2026, 1, 5, 17, 0), events.get(0).start());
+        assertEquals(LocalDateTime.of(2026, 7, 6, 7, 0), events.get(1).start());
+        assertEquals(LocalDateTime.of(2026, 1, 5, 3, 30), events.get(2).start());
+    }
+
+    @Test
+    void unknownTzidIsFloatingTime() throws IOException {
+        List<Read> events = read(event("UID:custom", "DTSTART;TZID=Made Up Zone:20260105T090000", "DURATION:PT1H"));
+
+        assertEquals(LocalDateTime.of(2026, 1, 5, 9, 0), events.get(0).start());
+    }
+
+    @Test
+    void derivesEndFromDuration() throws IOException {
+        List<Read> events = read(
+                event("UID:minutes", "DTSTART:20260105T090000Z", "DURATION:PT1H30M"),
+                event("UID:weeks", "DTSTART;VALUE=DATE:20260105", "DURATION:P1W"),
+                event("UID:all-day", "DTSTART;VALUE=DATE:20260105"),
+                event("UID:instant", "DTSTART:20260105T090000Z"));
+
+        assertEquals(LocalDateTime.of(2026, 1, 5, 10, 30), events.get(0).end());
+        assertTrue(events.get(1).allDay());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 0, 0), events.get(1).end());
+        assertEquals(LocalDateTime.of(2026, 1, 6, 0, 0), events.get(2).end());
+        assertEquals(events.get(3).start(), events.get(3).end());
+    }
+
+    @Test
+    void collectsExdatesAcrossLinesAndLists() throws IOException {
+        List<Read> events = read(event("UID:repeat", "DTSTART;TZID=Europe/London:20260105T090000", "DURATION:PT1H",
+                "RRULE:FREQ=DAILY;COUNT=5",
+                "EXDATE;TZID=Europe/London:20260106T090000,20260107T090000",
+                "EXDATE:20260108T090000Z"));
+
+        Read event = events.get(0);
+        assertEquals("FREQ=DAILY;COUNT=5", event.rrule());
+        assertEquals(List.of(LocalDateTime.of(2026, 1, 6, 9, 0), LocalDateTime.of(2026, 1, 7, 9, 0),
+                LocalDateTime.of(2026, 1, 8, 9, 0)), event.exdates());
+    }
+
+    @Test
+    void freeCancelledAndNestedComponents() throws IOException {
+        List<Read> events = read(
+                event("UID:free", "DTSTART:20260105T090000Z", "DURATION:PT1H", "TRANSP:TRANSPARENT"),
+                event("UID:cancelled", "DTSTART:20260105T090000Z", "DURATION:PT1H", "STATUS:CANCELLED"),
+                event("UID:alarm", "DTSTART:20260105T090000Z", "DURATION:PT1H",
+                        "BEGIN:VALARM", "TRIGGER:-PT15M", "DURATION:PT5M", "END:VALARM"));
+
+        assertFalse(events.get(0).busy());
+        assertFalse(events.get(1).busy());
+        assertTrue(events.get(2).busy());
+        // The alarm's DURATION belongs to the alarm, not the event
+        assertEquals(LocalDateTime.of(2026, 1, 5, 10, 0), events.get(2).end());
+    }
+
+    @Test
+    void unparseableValuesAreNull() {
+        assertNull(IcsEventReader.parseDateTime("", "not-a-date", ZoneOffset.UTC));
+        assertEquals(LocalDateTime.of(2026, 1, 5, 0, 0), IcsEventReader.parseDateTime("VALUE=DATE", "20260105", ZoneOffset.UTC));
+    }
+
+    private static String event(String... properties) {
+        return "BEGIN:VEVENT\r\n" + String.join("\r\n", properties) + "\r\nEND:VEVENT\r\n";
+    }
+
+    private static List<Read> read(String... events) throws IOException {
+        String calendar = "BEGIN:VCALENDAR\r\nVERSION:2.0\r\n" + String.join("", events) + "END:VCALENDAR\r\n";
+        List<Read> read = new ArrayList<>();
+        IcsEventReader.read(new StringReader(calendar), ZoneOffset.UTC, event -> read.add(new Read(event.getUid(),
+                event.getStart(), event.getEnd(), event.isAllDay(), event.isBusy(), event.getRrule(),
+                List.copyOf(event.getExdates()))));
+        return read;
+    }
+}
@@ -0,0 +1,166 @@
+package com.marketplace.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Expands single-event calendars and checks the occurrence start times against RFC 5545.
+ */
+class RecurrenceExpanderTest {
+
+    private static final LocalDate FAR = LocalDate.of(2027, 12, 31);
+
+    @Test
+    void dailyWithIntervalAndCount() throws IOException {
+        assertEquals(List.of(at(2026, 1, 5), at(2026, 1, 7), at(2026, 1, 9)),
+                expand("20260105T090000Z", "FREQ=DAILY;INTERVAL=2;COUNT=3", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void dailySkipsAheadToTheHorizon() throws IOException {
+        List<LocalDateTime> starts = expand("20200101T090000Z", "FREQ=DAILY", null,
+                LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12));
+
+        assertEquals(List.of(at(2026, 3, 10), at(2026, 3, 11), at(2026, 3, 12)), starts);
+    }
+
+    @Test
+    void dailyStopsAtUntil() throws IOException {
+        assertEquals(List.of(at(2026, 1, 5), at(2026, 1, 6)),
+                expand("20260105T090000Z", "FREQ=DAILY;UNTIL=20260106", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void weeklyByDayCountsFromDtstart() throws IOException {
+        // Starts on a Wednesday, so the Monday of the first week is not an occurrence
+        List<LocalDateTime> starts = expand("20260107T090000Z", "FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=4", null,
+                LocalDate.of(2026, 1, 1), FAR);
+
+        assertEquals(List.of(at(2026, 1, 7), at(2026, 1, 9), at(2026, 1, 12), at(2026, 1, 14)), starts);
+    }
+
+    @Test
+    void weeklyDefaultsToTheStartDayWithInterval() throws IOException {
+        assertEquals(List.of(at(2026, 1, 5), at(2026, 1, 19), at(2026, 2, 2)),
+                expand("20260105T090000Z", "FREQ=WEEKLY;INTERVAL=2;COUNT=3", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() throws IOException {
+        List<LocalDateTime> starts = expand("20260131T090000Z", "FREQ=MONTHLY", null,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 7, 31));
+
+        assertEquals(List.of(at(2026, 1, 31), at(2026, 3, 31), at(2026, 5, 31), at(2026, 7, 31)), starts);
+    }
+
+    @Test
+    void monthlyCountIgnoresSkippedMonths() throws IOException {
+        assertEquals(List.of(at(2026, 1, 30), at(2026, 3, 30), at(2026, 4, 30)),
+                expand("20260130T090000Z", "FREQ=MONTHLY;COUNT=3", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void yearlyOnLeapDayOnlyInLeapYears() throws IOException {
+        assertEquals(List.of(at(2024, 2, 29), at(2028, 2, 29)),
+                expand("20240229T090000Z", "FREQ=YEARLY;COUNT=2", null, LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2029, 12, 31)));
+    }
+
+    @Test
+    void dailyByDayOnlyKeepsThoseWeekdays() throws IOException {
+        // Starts on a Friday; the weekend is not busy
+        assertEquals(List.of(at(2026, 1, 9), at(2026, 1, 12), at(2026, 1, 13), at(2026, 1, 14), at(2026, 1, 15)),
+                expand("20260109T090000Z", "FREQ=DAILY;BYDAY=MO,TU,WE,TH,FR;COUNT=5", null,
+                        LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void monthlyByDayWithOrdinal() throws IOException {
+        assertEquals(List.of(at(2026, 1, 13), at(2026, 2, 10), at(2026, 3, 10)),
+                expand("20260113T090000Z", "FREQ=MONTHLY;BYDAY=2TU;COUNT=3", null, LocalDate.of(2026, 1, 1), FAR));
+        assertEquals(List.of(at(2026, 1, 30), at(2026, 2, 27), at(2026, 3, 27)),
+                expand("20260130T090000Z", "FREQ=MONTHLY;BYDAY=-1FR;COUNT=3", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void monthlyByMonthDayCountsFromTheEnd() throws IOException {
+        assertEquals(List.of(at(2026, 1, 1), at(2026, 1, 31), at(2026, 2, 1), at(2026, 2, 28)),
+                expand("20260101T090000Z", "FREQ=MONTHLY;BYMONTHDAY=1,-1;COUNT=4", null, LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void monthlyBySetPosPicksLastWeekday() throws IOException {
+        assertEquals(List.of(at(2026, 1, 30), at(2026, 2, 27), at(2026, 3, 31)),
+                expand("20260130T090000Z", "FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1;COUNT=3", null,
+                        LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void yearlyByMonthAndOrdinalDay() throws IOException {
+        // Fourth Thursday of November
+        assertEquals(List.of(at(2026, 11, 26), at(2027, 11, 25)),
+                expand("20261126T090000Z", "FREQ=YEARLY;BYMONTH=11;BYDAY=4TH;COUNT=2", null,
+                        LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void rulesWithUnsupportedPartsAreSkipped() throws IOException {
+        assertTrue(expand("20260105T090000Z", "FREQ=DAILY;BYHOUR=9,17", null, LocalDate.of(2026, 1, 1), FAR).isEmpty());
+        assertTrue(expand("20260105T090000Z", "FREQ=YEARLY;BYWEEKNO=20", null, LocalDate.of(2026, 1, 1), FAR).isEmpty());
+        assertTrue(expand("20260105T090000Z", "FREQ=WEEKLY;BYDAY=1MO", null, LocalDate.of(2026, 1, 1), FAR).isEmpty());
+        assertTrue(expand("20260105T090000Z", "FREQ=DAILY;BYSETPOS=1", null, LocalDate.of(2026, 1, 1), FAR).isEmpty());
+    }
+
+    @Test
+    void recurrenceKeepsWallClockTimeAcrossDaylightSaving() throws IOException {
+        // New York moves to daylight time on 8 March 2026, so 09:00 local is 13:00 UTC from then on
+        List<LocalDateTime> starts = expandWith("DTSTART;TZID=America/New_York:20260306T090000",
+                "FREQ=DAILY;COUNT=4", null, LocalDate.of(2026, 3, 1), FAR);
+
+        assertEquals(List.of(LocalDateTime.of(2026, 3, 6, 14, 0), LocalDateTime.of(2026, 3, 7, 14, 0),
+                LocalDateTime.of(2026, 3, 8, 13, 0), LocalDateTime.of(2026, 3, 9, 13, 0)), starts);
+    }
+
+    @Test
+    void exdatesAreLeftOut() throws IOException {
+        assertEquals(List.of(at(2026, 1, 5), at(2026, 1, 7)),
+                expand("20260105T090000Z", "FREQ=DAILY;COUNT=3", "20260106T090000Z", LocalDate.of(2026, 1, 1), FAR));
+    }
+
+    @Test
+    void singleEventOutsideHorizonIsDropped() throws IOException {
+        assertTrue(expand("20260105T090000Z", null, null, LocalDate.of(2026, 2, 1), FAR).isEmpty());
+        assertEquals(List.of(at(2026, 1, 5)), expand("20260105T090000Z", null, null, LocalDate.of(2026, 1, 5), FAR));
+    }
+
+    private static LocalDateTime at(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 9, 0);
+    }
+
+    private static List<LocalDateTime> expand(String dtstart, String rrule, String exdate,
+                                              LocalDate horizonStart, LocalDate horizonEnd) throws IOException {
+        return expandWith("DTSTART:" + dtstart, rrule, exdate, horizonStart, horizonEnd);
+    }
+
+    private static List<LocalDateTime> expandWith(String dtstartLine, String rrule, String exdate,
+                                                  LocalDate horizonStart, LocalDate horizonEnd) throws IOException {
+        String calendar = "BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\nUID:rule\r\n" + dtstartLine + "\r\nDURATION:PT1H\r\n"
+                + (rrule != null ? "RRULE:" + rrule + "\r\n" : "")
+                + (exdate != null ? "EXDATE:" + exdate + "\r\n" : "")
+                + "END:VEVENT\r\nEND:VCALENDAR\r\n";
+        List<LocalDateTime> starts = new ArrayList<>();
+        IcsEventReader.read(new StringReader(calendar), ZoneOffset.UTC,
+                event -> RecurrenceExpander.expand(event, horizonStart, horizonEnd, (start, end) -> starts.add(start)));
+        return starts;
+    }
+}